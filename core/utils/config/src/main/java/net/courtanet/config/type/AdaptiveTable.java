@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Table sampling looked up values during a warm-up window, then specializing into a {@link HotKeyTable}
+ * checking the dominant values first.
+ * The thread completing the window builds the specialized table and publishes it once, through a volatile
+ * write; until then, and for other threads, lookups go to the general table. Sampled values are released once
+ * the table is specialized.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+final class AdaptiveTable<I, O> implements MappingTable<I, O> {
+
+    private final MappingTable<I, O> table;
+
+    private final long window;
+
+    private final int hotKeys;
+
+    private final AtomicLong sampled = new AtomicLong();
+
+    private volatile Map<Object, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private volatile MappingTable<I, O> specialized;
+
+    AdaptiveTable(MappingTable<I, O> table, long window, int hotKeys) {
+        this.table = table;
+        this.window = window;
+        this.hotKeys = hotKeys;
+    }
+
+    @Override
+    public Function<I, O> get(Object in) {
+        final MappingTable<I, O> current = specialized;
+        if (current != null) {
+            return current.get(in);
+        }
+        final Function<I, O> function = table.get(in);
+        final Map<Object, LongAdder> counts = this.counts;
+        if (function != null && counts != null) {
+            counts.computeIfAbsent(in, key -> new LongAdder()).increment();
+            if (sampled.incrementAndGet() == window) {
+                specialized = specialize(counts);
+                this.counts = null;
+            }
+        }
+        return function;
+    }
+
+    /**
+     * @param counts sampled values, by input instance first looked up
+     * @return table checking the most frequent values first, as instances of the general table keys
+     */
+    private MappingTable<I, O> specialize(Map<Object, LongAdder> counts) {
+        final List<Map.Entry<Object, LongAdder>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Object, LongAdder> entry) -> entry.getValue().sum())
+                .reversed());
+        final int length = Math.min(hotKeys, entries.size());
+        final Object[] keys = new Object[length];
+        final Map<Object, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < length; i++) {
+            keys[i] = entries.get(i).getKey();
+            ranks.put(keys[i], i);
+        }
+        for (I key : table.asMap().keySet()) {
+            final Integer rank = ranks.get(key);
+            if (rank != null) {
+                keys[rank] = key;
+            }
+        }
+        return new HotKeyTable<>(keys, table);
+    }
+
+    /**
+     * @return general table, looked up without sampling
+     */
+    MappingTable<I, O> getTable() {
+        return table;
+    }
+
+    /**
+     * @return number of looked up values with a static mapping to sample
+     */
+    long getWindow() {
+        return window;
+    }
+
+    /**
+     * @return number of values checked first once specialized
+     */
+    int getHotKeys() {
+        return hotKeys;
+    }
+
+    /**
+     * @return {@code true} once the table is specialized
+     */
+    boolean isSpecialized() {
+        return specialized != null;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public Map<I, Function<I, O>> asMap() {
+        return table.asMap();
+    }
+
+    @Override
+    public String kind() {
+        final MappingTable<I, O> current = specialized;
+        return current == null ? "adaptive(" + table.kind() + ")" : current.kind();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        final MappingTable<I, O> current = specialized;
+        return current == null ? 48L + table.estimatedBytes() : 48L + current.estimatedBytes();
+    }
+
+    /**
+     * Table checking a few values, by identity then by equality, before looking up the general table.
+     * Values are the key instances of the general table, so that interned or constant inputs match by identity.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    static final class HotKeyTable<I, O> implements MappingTable<I, O> {
+
+        private final Object[] keys;
+
+        private final Function<I, O>[] functions;
+
+        private final MappingTable<I, O> table;
+
+        @SuppressWarnings("unchecked")
+        HotKeyTable(Object[] keys, MappingTable<I, O> table) {
+            this.keys = keys;
+            this.functions = (Function<I, O>[]) new Function<?, ?>[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                functions[i] = table.get(keys[i]);
+            }
+            this.table = table;
+        }
+
+        @Override
+        public Function<I, O> get(Object in) {
+            final Object[] keys = this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == in) {
+                    return functions[i];
+                }
+            }
+            if (in != null) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (in.equals(keys[i])) {
+                        return functions[i];
+                    }
+                }
+            }
+            return table.get(in);
+        }
+
+        @Override
+        public int size() {
+            return table.size();
+        }
+
+        @Override
+        public Map<I, Function<I, O>> asMap() {
+            return table.asMap();
+        }
+
+        @Override
+        public String kind() {
+            return "hot-keys(" + keys.length + ", " + table.kind() + ")";
+        }
+
+        @Override
+        public long estimatedBytes() {
+            return 24L + 2L * MappingTable.arrayBytes(keys.length) + table.estimatedBytes();
+        }
+    }
+}
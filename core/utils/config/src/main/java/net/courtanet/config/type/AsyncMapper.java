@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * AsyncMapper maps values with a {@link Mapper}, resolving values without static mapping asynchronously.
+ * Static mappings complete immediately in the calling thread. Concurrent requests for the same value without
+ * static mapping share a single in-flight resolution, which is released once completed: results are not cached.
+ * Each caller gets its own future, completed from the shared resolution: completing or cancelling it does not
+ * affect other callers.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+public final class AsyncMapper<I, O> {
+
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * Create an AsyncMapper resolving values without static mapping with the given asynchronous function.
+     *
+     * @param mapper       mapper defining static mappings
+     * @param asyncDefault asynchronous function to apply for values without static mapping
+     * @param <I>          input type
+     * @param <O>          output type
+     * @return AsyncMapper
+     */
+    public static <I, O> AsyncMapper<I, O> of(Mapper<I, O> mapper,
+            Function<I, ? extends CompletionStage<O>> asyncDefault) {
+        Objects.requireNonNull(mapper, "Mapper is null.");
+        Objects.requireNonNull(asyncDefault, "Asynchronous default function is null.");
+        return new AsyncMapper<>(mapper, asyncDefault);
+    }
+
+    /**
+     * Create an AsyncMapper applying the default mapping of the given mapper on the given executor,
+     * such as a virtual thread per task executor.
+     *
+     * @param mapper   mapper defining static and default mappings
+     * @param executor executor to apply the default mapping on
+     * @param <I>      input type
+     * @param <O>      output type
+     * @return AsyncMapper
+     */
+    public static <I, O> AsyncMapper<I, O> onExecutor(Mapper<I, O> mapper, Executor executor) {
+        Objects.requireNonNull(mapper, "Mapper is null.");
+        Objects.requireNonNull(executor, "Executor is null.");
+        final Function<I, O> defaultFunction = mapper.getDefaultMapping();
+        return new AsyncMapper<>(mapper, in -> defaultFunction == null
+                ? failed(new IllegalArgumentException(in + " value not supported"))
+                : CompletableFuture.supplyAsync(() -> defaultFunction.apply(in), executor));
+    }
+
+    private final Mapper<I, O> mapper;
+
+    private final Function<I, ? extends CompletionStage<O>> asyncDefault;
+
+    private final ConcurrentMap<Object, CompletableFuture<O>> inFlight = new ConcurrentHashMap<>();
+
+    private AsyncMapper(Mapper<I, O> mapper, Function<I, ? extends CompletionStage<O>> asyncDefault) {
+        this.mapper = mapper;
+        this.asyncDefault = asyncDefault;
+    }
+
+    /**
+     * @return mapper defining static mappings
+     */
+    public Mapper<I, O> getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Map input value with I type to output value with O type.
+     * The returned future completes exceptionally with an {@link IllegalArgumentException} if mapping is not
+     * defined.
+     *
+     * @param input input value
+     * @return future output value
+     */
+    public CompletableFuture<O> mapAsync(I input) {
+        final Supplier<O> nullSupplier = mapper.getNullMapping();
+        if (nullSupplier != null && input == null) {
+            return completed(nullSupplier::get);
+        }
+        final Function<I, O> function = mapper.getTable().get(input);
+        if (function != null) {
+            return completed(() -> function.apply(input));
+        }
+        final Object key = input == null ? NULL_KEY : input;
+        final CompletableFuture<O> promise = new CompletableFuture<>();
+        final CompletableFuture<O> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return copy(existing);
+        }
+        CompletionStage<O> resolution;
+        try {
+            resolution = asyncDefault.apply(input);
+        } catch (Throwable t) {
+            resolution = failed(t);
+        }
+        resolution.whenComplete((out, t) -> {
+            inFlight.remove(key, promise);
+            if (t != null) {
+                promise.completeExceptionally(t);
+            } else {
+                promise.complete(out);
+            }
+        });
+        return copy(promise);
+    }
+
+    /**
+     * @return number of values being resolved asynchronously
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <O> CompletableFuture<O> completed(Supplier<O> supplier) {
+        try {
+            return CompletableFuture.completedFuture(supplier.get());
+        } catch (Throwable t) {
+            return failed(t);
+        }
+    }
+
+    private static <O> CompletableFuture<O> copy(CompletableFuture<O> promise) {
+        final CompletableFuture<O> copy = new CompletableFuture<>();
+        promise.whenComplete((out, t) -> {
+            if (t != null) {
+                copy.completeExceptionally(t);
+            } else {
+                copy.complete(out);
+            }
+        });
+        return copy;
+    }
+
+    private static <O> CompletableFuture<O> failed(Throwable t) {
+        final CompletableFuture<O> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncMapper{" +
+                "mapper=" + mapper +
+                ", asyncDefault=" + asyncDefault +
+                '}';
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Binds bean accessors and constructors once into functional interfaces, so that no reflection happens when
+ * they are called. Accessors of public classes visible from this class loader are bound with
+ * {@link LambdaMetafactory}; other accessors are called through a {@link MethodHandle}.
+ */
+final class BeanAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private BeanAccessors() {
+    }
+
+    /**
+     * @param type bean class
+     * @param name property name
+     * @return public getter of the property, {@code null} when there is none
+     */
+    static Method findGetter(Class<?> type, String name) {
+        final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())
+                    && method.getReturnType() != void.class
+                    && (method.getName().equals("get" + suffix) || (method.getName().equals("is" + suffix)
+                    && method.getReturnType() == boolean.class))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param type bean class
+     * @param name property name
+     * @return public setter of the property, {@code null} when there is none
+     */
+    static Method findSetter(Class<?> type, String name) {
+        final String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())
+                    && method.getName().equals(setter)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param type primitive or reference type
+     * @return wrapper type of primitive types, the type itself otherwise
+     */
+    static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S, V> Function<S, V> getter(Method method) {
+        try {
+            method.setAccessible(true);
+            final MethodHandle handle = LOOKUP.unreflect(method);
+            if (isLinkable(method.getDeclaringClass())) {
+                return (Function<S, V>) LambdaMetafactory.metafactory(LOOKUP, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()))
+                        .getTarget().invoke();
+            }
+            final MethodHandle generic = handle.asType(MethodType.genericMethodType(1));
+            return source -> (V) invoke(() -> generic.invokeExact((Object) source));
+        } catch (Throwable t) {
+            throw new IllegalArgumentException("Unable to bind getter " + method, t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <D, V> BiConsumer<D, V> setter(Method method) {
+        try {
+            method.setAccessible(true);
+            final MethodHandle handle = LOOKUP.unreflect(method);
+            if (isLinkable(method.getDeclaringClass())) {
+                return (BiConsumer<D, V>) LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(),
+                                wrap(method.getParameterTypes()[0])))
+                        .getTarget().invoke();
+            }
+            final MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> invoke(() -> {
+                generic.invokeExact((Object) target, (Object) value);
+                return null;
+            });
+        } catch (Throwable t) {
+            throw new IllegalArgumentException("Unable to bind setter " + method, t);
+        }
+    }
+
+    /**
+     * @param type bean class
+     * @param <D>  bean type
+     * @return supplier calling the no-arg constructor of the class
+     * @throws IllegalArgumentException when the class has no no-arg constructor.
+     */
+    @SuppressWarnings("unchecked")
+    static <D> Supplier<D> constructor(Class<D> type) {
+        try {
+            final Constructor<D> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            final MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+            if (isLinkable(type) && Modifier.isPublic(constructor.getModifiers())) {
+                return (Supplier<D>) LambdaMetafactory.metafactory(LOOKUP, "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        MethodType.methodType(type))
+                        .getTarget().invoke();
+            }
+            final MethodHandle generic = handle.asType(MethodType.genericMethodType(0));
+            return () -> (D) invoke(() -> generic.invokeExact());
+        } catch (Throwable t) {
+            throw new IllegalArgumentException("Unable to bind no-arg constructor of " + type.getName(), t);
+        }
+    }
+
+    /**
+     * Lambdas are defined next to this class: the bean class and its enclosing classes must be public, and visible
+     * from this class loader.
+     */
+    private static boolean isLinkable(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(type.getName(), false, BeanAccessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Object invoke(Invocation invocation) {
+        try {
+            return invocation.invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke() throws Throwable;
+    }
+}
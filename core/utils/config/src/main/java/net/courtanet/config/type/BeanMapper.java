@@ -0,0 +1,385 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * BeanMapper maps beans of a source type to new beans of a destination type, with field to field rules,
+ * optionally converting values with a {@link Mapper}.
+ * Rules declared by property name are bound once to their accessors when building the mapper, so that mapping
+ * does not use reflection.
+ *
+ * @param <S> source bean type
+ * @param <D> destination bean type
+ */
+public final class BeanMapper<S, D> {
+
+    /**
+     * Create builder for BeanMapper.
+     *
+     * @param sourceType      source bean class
+     * @param destinationType destination bean class
+     * @param <S>             source bean type
+     * @param <D>             destination bean type
+     * @return BeanMapperBuilder to build
+     */
+    public static <S, D> BeanMapperBuilder<S, D> builder(Class<S> sourceType, Class<D> destinationType) {
+        return new BeanMapperBuilder<>(sourceType, destinationType);
+    }
+
+    private final Class<S> sourceType;
+
+    private final Class<D> destinationType;
+
+    private final Supplier<D> factory;
+
+    private final Rule<S, D>[] rules;
+
+    private BeanMapper(Class<S> sourceType, Class<D> destinationType, Supplier<D> factory, Rule<S, D>[] rules) {
+        this.sourceType = sourceType;
+        this.destinationType = destinationType;
+        this.factory = factory;
+        this.rules = rules;
+    }
+
+    /**
+     * @return source bean class
+     */
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * @return destination bean class
+     */
+    public Class<D> getDestinationType() {
+        return destinationType;
+    }
+
+    /**
+     * Map source bean to a new destination bean, applying rules in declaration order.
+     *
+     * @param source source bean
+     * @return destination bean, {@code null} when source is {@code null}
+     * @throws IllegalArgumentException if a mapper used by a rule does not support a value.
+     */
+    public D map(S source) {
+        if (source == null) {
+            return null;
+        }
+        final D destination = factory.get();
+        for (Rule<S, D> rule : rules) {
+            rule.apply(source, destination);
+        }
+        return destination;
+    }
+
+    /**
+     * Map all source beans, rule by rule: values converted with a {@link Mapper} are mapped at once with
+     * {@link Mapper#mapAll(Collection)}.
+     *
+     * @param sources source beans
+     * @return destination beans, in source order, {@code null} for {@code null} sources
+     * @throws IllegalArgumentException if a mapper used by a rule does not support a value.
+     */
+    public List<D> mapAll(Collection<? extends S> sources) {
+        final List<S> present = new ArrayList<>(sources.size());
+        final List<D> destinations = new ArrayList<>(sources.size());
+        final List<D> created = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            if (source == null) {
+                destinations.add(null);
+            } else {
+                final D destination = factory.get();
+                present.add(source);
+                created.add(destination);
+                destinations.add(destination);
+            }
+        }
+        for (Rule<S, D> rule : rules) {
+            rule.applyAll(present, created);
+        }
+        return destinations;
+    }
+
+    /**
+     * Rule setting a destination property from source beans.
+     */
+    private interface Rule<S, D> {
+
+        void apply(S source, D destination);
+
+        default void applyAll(List<S> sources, List<D> destinations) {
+            for (int i = 0; i < sources.size(); i++) {
+                apply(sources.get(i), destinations.get(i));
+            }
+        }
+    }
+
+    private static final class CopyRule<S, D, V> implements Rule<S, D> {
+
+        private final Function<S, V> getter;
+
+        private final BiConsumer<D, V> setter;
+
+        private CopyRule(Function<S, V> getter, BiConsumer<D, V> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public void apply(S source, D destination) {
+            setter.accept(destination, getter.apply(source));
+        }
+    }
+
+    private static final class MapperRule<S, D, V, W> implements Rule<S, D> {
+
+        private final Function<S, V> getter;
+
+        private final Mapper<V, W> mapper;
+
+        private final BiConsumer<D, W> setter;
+
+        private MapperRule(Function<S, V> getter, Mapper<V, W> mapper, BiConsumer<D, W> setter) {
+            this.getter = getter;
+            this.mapper = mapper;
+            this.setter = setter;
+        }
+
+        @Override
+        public void apply(S source, D destination) {
+            setter.accept(destination, mapper.map(getter.apply(source)));
+        }
+
+        @Override
+        public void applyAll(List<S> sources, List<D> destinations) {
+            final List<V> values = new ArrayList<>(sources.size());
+            for (S source : sources) {
+                values.add(getter.apply(source));
+            }
+            final List<W> mapped = mapper.mapAll(values);
+            for (int i = 0; i < destinations.size(); i++) {
+                setter.accept(destinations.get(i), mapped.get(i));
+            }
+        }
+    }
+
+    public static final class BeanMapperBuilder<S, D> {
+
+        private final Class<S> sourceType;
+        private final Class<D> destinationType;
+        private final List<Rule<S, D>> rules = new ArrayList<>();
+        private Supplier<D> factory = null;
+
+        BeanMapperBuilder(Class<S> sourceType, Class<D> destinationType) {
+            this.sourceType = Objects.requireNonNull(sourceType, "Source type is null.");
+            this.destinationType = Objects.requireNonNull(destinationType, "Destination type is null.");
+        }
+
+        /**
+         * Build the immutable BeanMapper.
+         * Destination beans are created with the given factory, or with the no-arg constructor of the destination
+         * class.
+         *
+         * @return built immutable BeanMapper
+         * @throws IllegalStateException when there is no rule, or no way to create destination beans.
+         */
+        @SuppressWarnings("unchecked")
+        public BeanMapper<S, D> build() {
+            if (rules.isEmpty()) {
+                throw new IllegalStateException("BeanMapper configuration incomplete. Specify at least one rule.");
+            }
+            Supplier<D> beanFactory = factory;
+            if (beanFactory == null) {
+                try {
+                    beanFactory = BeanAccessors.constructor(destinationType);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalStateException("BeanMapper configuration invalid. " +
+                            "Specify a factory for " + destinationType.getName() + " with createdBy.", e);
+                }
+            }
+            return new BeanMapper<>(sourceType, destinationType, beanFactory, (Rule<S, D>[]) rules.toArray(new Rule<?, ?>[0]));
+        }
+
+        /**
+         * Defines how destination beans are created.
+         *
+         * @param factory destination bean factory
+         * @return bean mapper builder to build.
+         */
+        public BeanMapperBuilder<S, D> createdBy(Supplier<D> factory) {
+            this.factory = Objects.requireNonNull(factory, "Factory is null.");
+            return this;
+        }
+
+        /**
+         * Start defining a rule reading the source value with the given getter.
+         *
+         * @param getter source value getter
+         * @param <V>    source value type
+         * @return rule to complete
+         */
+        public <V> FieldRule<S, D, V> map(Function<S, V> getter) {
+            return new FieldRule<>(Objects.requireNonNull(getter, "Getter is null."), this);
+        }
+
+        /**
+         * Copy the property with the given name from the source bean to the destination bean.
+         *
+         * @param name property name
+         * @return bean mapper builder to build.
+         * @throws IllegalArgumentException when the property can not be read, written or copied.
+         */
+        public BeanMapperBuilder<S, D> field(String name) {
+            return field(name, name);
+        }
+
+        /**
+         * Copy a property of the source bean to a property of the destination bean.
+         *
+         * @param source source property name
+         * @param target destination property name
+         * @return bean mapper builder to build.
+         * @throws IllegalArgumentException when the properties can not be read, written or copied.
+         */
+        public BeanMapperBuilder<S, D> field(String source, String target) {
+            final Method getter = getter(source);
+            final Method setter = setter(target);
+            checkAssignable(BeanAccessors.wrap(getter.getReturnType()), setter, source);
+            rules.add(new CopyRule<>(BeanAccessors.getter(getter), BeanAccessors.setter(setter)));
+            return this;
+        }
+
+        /**
+         * Map a property of the source bean with the given mapper to a property of the destination bean.
+         *
+         * @param source source property name
+         * @param mapper mapper of property values
+         * @param target destination property name
+         * @return bean mapper builder to build.
+         * @throws IllegalArgumentException when the properties can not be read or written, or when the mapper
+         *                                  types do not match the properties types.
+         */
+        @SuppressWarnings("unchecked")
+        public BeanMapperBuilder<S, D> field(String source, Mapper<?, ?> mapper, String target) {
+            Objects.requireNonNull(mapper, "Mapper is null.");
+            final Method getter = getter(source);
+            final Method setter = setter(target);
+            if (!mapper.getInType().isAssignableFrom(BeanAccessors.wrap(getter.getReturnType()))) {
+                throw new IllegalArgumentException("Property " + source + " of type " + getter.getReturnType()
+                        + " can not be mapped with " + mapper.getInType());
+            }
+            checkAssignable(mapper.getOutType(), setter, source);
+            rules.add(new MapperRule<>(BeanAccessors.getter(getter), (Mapper<Object, Object>) mapper,
+                    BeanAccessors.setter(setter)));
+            return this;
+        }
+
+        private Method getter(String name) {
+            final Method getter = BeanAccessors.findGetter(sourceType, name);
+            if (getter == null) {
+                throw new IllegalArgumentException("No readable property " + name + " in " + sourceType.getName());
+            }
+            return getter;
+        }
+
+        private Method setter(String name) {
+            final Method setter = BeanAccessors.findSetter(destinationType, name);
+            if (setter == null) {
+                throw new IllegalArgumentException("No writable property " + name + " in "
+                        + destinationType.getName());
+            }
+            return setter;
+        }
+
+        private static void checkAssignable(Class<?> valueType, Method setter, String source) {
+            final Class<?> parameterType = setter.getParameterTypes()[0];
+            if (!BeanAccessors.wrap(parameterType).isAssignableFrom(valueType)) {
+                throw new IllegalArgumentException("Property " + source + " of type " + valueType.getName()
+                        + " can not be set with " + setter);
+            }
+        }
+    }
+
+    /**
+     * Rule reading a source value, to complete with its destination.
+     *
+     * @param <S> source bean type
+     * @param <D> destination bean type
+     * @param <V> source value type
+     */
+    public static final class FieldRule<S, D, V> {
+
+        private final Function<S, V> getter;
+
+        private final BeanMapperBuilder<S, D> builder;
+
+        private FieldRule(Function<S, V> getter, BeanMapperBuilder<S, D> builder) {
+            this.getter = getter;
+            this.builder = builder;
+        }
+
+        /**
+         * Complete the rule with the destination setter.
+         *
+         * @param setter destination value setter
+         * @return bean mapper builder to build.
+         */
+        public BeanMapperBuilder<S, D> to(BiConsumer<D, V> setter) {
+            builder.rules.add(new CopyRule<>(getter, Objects.requireNonNull(setter, "Setter is null.")));
+            return builder;
+        }
+
+        /**
+         * Convert the source value with the given mapper.
+         *
+         * @param mapper mapper of source values
+         * @param <W>    destination value type
+         * @return rule to complete with its destination
+         */
+        public <W> MappedFieldRule<S, D, V, W> using(Mapper<V, W> mapper) {
+            return new MappedFieldRule<>(getter, Objects.requireNonNull(mapper, "Mapper is null."), builder);
+        }
+    }
+
+    /**
+     * Rule reading a source value converted with a {@link Mapper}, to complete with its destination.
+     *
+     * @param <S> source bean type
+     * @param <D> destination bean type
+     * @param <V> source value type
+     * @param <W> destination value type
+     */
+    public static final class MappedFieldRule<S, D, V, W> {
+
+        private final Function<S, V> getter;
+
+        private final Mapper<V, W> mapper;
+
+        private final BeanMapperBuilder<S, D> builder;
+
+        private MappedFieldRule(Function<S, V> getter, Mapper<V, W> mapper, BeanMapperBuilder<S, D> builder) {
+            this.getter = getter;
+            this.mapper = mapper;
+            this.builder = builder;
+        }
+
+        /**
+         * Complete the rule with the destination setter.
+         *
+         * @param setter destination value setter
+         * @return bean mapper builder to build.
+         */
+        public BeanMapperBuilder<S, D> to(BiConsumer<D, W> setter) {
+            builder.rules.add(new MapperRule<>(getter, mapper, Objects.requireNonNull(setter, "Setter is null.")));
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Function memoizing the results of a delegate function in a bounded cache.
+ * The cache is split in independently locked segments, each one evicting its least recently used entries,
+ * so concurrent callers do not contend on a single lock.
+ * Results are computed outside of any lock: concurrent misses on the same value may compute it more than once.
+ * Exceptions thrown by the delegate function are not cached.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+public final class CachedFunction<I, O> implements Function<I, O> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Function<I, O> function;
+
+    private final long expireAfterWriteNanos;
+
+    private final Segment<I, O>[] segments;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param function         function to memoize
+     * @param maxSize          maximum number of cached results
+     * @param expireAfterWrite duration after which a cached result is computed again, {@code 0} to never expire
+     * @param unit             unit of expireAfterWrite duration
+     * @throws IllegalArgumentException when maxSize is not positive or expireAfterWrite is negative.
+     */
+    @SuppressWarnings("unchecked")
+    CachedFunction(Function<I, O> function, int maxSize, long expireAfterWrite, TimeUnit unit) {
+        Objects.requireNonNull(function, "Function to cache is null.");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        if (expireAfterWrite < 0) {
+            throw new IllegalArgumentException("Cache expiration must not be negative: " + expireAfterWrite);
+        }
+        this.function = function;
+        this.expireAfterWriteNanos = unit.toNanos(expireAfterWrite);
+        final int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+        final int segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+        this.segments = (Segment<I, O>[]) new Segment<?, ?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentSize);
+        }
+    }
+
+    @Override
+    public O apply(I in) {
+        final Segment<I, O> segment = segmentFor(in);
+        final long now = expireAfterWriteNanos > 0 ? System.nanoTime() : 0L;
+        CachedValue<O> entry;
+        synchronized (segment) {
+            entry = segment.get(in);
+            if (entry != null && expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos) {
+                segment.remove(in);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        final O value = function.apply(in);
+        synchronized (segment) {
+            segment.put(in, new CachedValue<>(value, now));
+        }
+        return value;
+    }
+
+    /**
+     * @return memoized function
+     */
+    Function<I, O> getFunction() {
+        return function;
+    }
+
+    /**
+     * @return number of results returned from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of results computed with the memoized function
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return ratio of results returned from the cache, {@code 1.0} when the function has not been called yet
+     */
+    public double getHitRate() {
+        final long hitCount = getHitCount();
+        final long total = hitCount + getMissCount();
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return number of cached results, including expired ones not evicted yet
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<I, O> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<I, O> segmentFor(I in) {
+        final int h = in == null ? 0 : in.hashCode();
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "CachedFunction{" +
+                "function=" + function +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                '}';
+    }
+
+    private static final class CachedValue<O> {
+
+        private final O value;
+
+        private final long writeTime;
+
+        private CachedValue(O value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    private static final class Segment<I, O> extends LinkedHashMap<I, CachedValue<O>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<I, CachedValue<O>> eldest) {
+            return size() > capacity;
+        }
+    }
+}
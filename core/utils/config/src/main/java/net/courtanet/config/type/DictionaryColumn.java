@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary encoded column of mapped values: each row holds the index of its value in the dictionary.
+ * Arrays are shared and must not be modified.
+ *
+ * @param <O> value type
+ * @see Mapper#encodeColumn(Object[])
+ */
+public final class DictionaryColumn<O> {
+
+    private final int[] codes;
+
+    private final O[] dictionary;
+
+    DictionaryColumn(int[] codes, O[] dictionary) {
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * @return dictionary index of each row value
+     */
+    public int[] getCodes() {
+        return codes;
+    }
+
+    /**
+     * @return distinct mapped values, indexed by code
+     */
+    public O[] getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * @param row row index
+     * @return value of the row
+     */
+    public O get(int row) {
+        return dictionary[codes[row]];
+    }
+
+    /**
+     * @return new array with the value of each row
+     */
+    public O[] toArray() {
+        final O[] values = Arrays.copyOf(dictionary, codes.length);
+        for (int row = 0; row < codes.length; row++) {
+            values[row] = dictionary[codes[row]];
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "DictionaryColumn{" +
+                "size=" + codes.length +
+                ", dictionary=" + Arrays.toString(dictionary) +
+                '}';
+    }
+}
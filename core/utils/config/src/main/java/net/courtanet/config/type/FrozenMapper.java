@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Frozen form of constant-only {@link Mapper}s: constant mappings as parallel key and value arrays, unsupported
+ * values as a key array, and flags describing the null and default mappings.
+ * Generated holder classes restore mappers from their frozen form at class initialization, without
+ * {@link Mapper.MapperBuilder} nor configuration checks. Holder classes can also be added to a Class Data Sharing
+ * archive, so that later launches skip loading and verifying them.
+ */
+public final class FrozenMapper {
+
+    /**
+     * The null value is mapped to a constant.
+     */
+    public static final int NULL_CONSTANT = 1;
+
+    /**
+     * The null value is not supported.
+     */
+    public static final int NULL_UNSUPPORTED = 2;
+
+    /**
+     * Values without static mapping are mapped to a constant.
+     */
+    public static final int DEFAULT_CONSTANT = 4;
+
+    /**
+     * Values without static mapping are not supported.
+     */
+    public static final int DEFAULT_UNSUPPORTED = 8;
+
+    private FrozenMapper() {
+    }
+
+    /**
+     * @param mapper mapper to freeze
+     * @return {@code true} when every mapping of the mapper, null and default mappings included, is a constant or
+     * an unsupported mapping with the default exception message.
+     */
+    public static boolean isFreezable(Mapper<?, ?> mapper) {
+        for (Function<?, ?> function : mapper.getMappings().values()) {
+            if (!isFreezable(function)) {
+                return false;
+            }
+        }
+        return (mapper.getNullMapping() == null || isFreezable(mapper.getNullMapping()))
+                && (mapper.getDefaultMapping() == null || isFreezable(mapper.getDefaultMapping()));
+    }
+
+    private static boolean isFreezable(Object function) {
+        return function instanceof Mapper.Constant || (function instanceof Mapper.Unsupported
+                && ((Mapper.Unsupported<?, ?>) function).hasDefaultMessage());
+    }
+
+    /**
+     * @param mapper freezable mapper
+     * @return flags of the null and default mappings of the mapper
+     * @throws IllegalArgumentException when the mapper is not freezable.
+     */
+    public static int flags(Mapper<?, ?> mapper) {
+        if (!isFreezable(mapper)) {
+            throw new IllegalArgumentException("Mapper " + mapper + " is not constant-only.");
+        }
+        final Supplier<?> nullMapping = mapper.getNullMapping();
+        final Function<?, ?> defaultMapping = mapper.getDefaultMapping();
+        int flags = 0;
+        if (nullMapping != null) {
+            flags |= nullMapping instanceof Mapper.Constant ? NULL_CONSTANT : NULL_UNSUPPORTED;
+        }
+        if (defaultMapping != null) {
+            flags |= defaultMapping instanceof Mapper.Constant ? DEFAULT_CONSTANT : DEFAULT_UNSUPPORTED;
+        }
+        return flags;
+    }
+
+    /**
+     * Restore a mapper from its frozen form. Mappings to the same value instance share a single constant; equal but
+     * distinct values, possibly mutable, are not pooled.
+     *
+     * @param inType       input type class
+     * @param outType      output type class
+     * @param keys         input values of constant mappings
+     * @param values       output values of constant mappings, in key order
+     * @param unsupported  input values not supported
+     * @param flags        null and default mapping flags
+     * @param nullValue    output value of null, when flags contain {@link #NULL_CONSTANT}
+     * @param defaultValue output value of values without static mapping, when flags contain
+     *                     {@link #DEFAULT_CONSTANT}
+     * @param <I>          input type
+     * @param <O>          output type
+     * @return new immutable Mapper
+     * @throws IllegalArgumentException when keys and values lengths differ.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <I, O> Mapper<I, O> restore(Class<I> inType, Class<O> outType, I[] keys, O[] values,
+            I[] unsupported, int flags, O nullValue, O defaultValue) {
+        final long start = System.nanoTime();
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Frozen mapper has " + keys.length + " keys and " + values.length
+                    + " values.");
+        }
+        final Map<I, Function<I, O>> mappings = inType.isEnum() ? new EnumMap(inType)
+                : new HashMap<>(keys.length * 4 / 3 + unsupported.length + 1);
+        final Map<O, Mapper.Constant<I, O>> constants = new IdentityHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            mappings.put(keys[i], constants.computeIfAbsent(values[i], Mapper.Constant::new));
+        }
+        final Mapper.Unsupported<I, O> unsupportedValue = Mapper.Unsupported.value();
+        for (I key : unsupported) {
+            mappings.put(key, unsupportedValue);
+        }
+        final Supplier<O> nullSupplier = (flags & NULL_CONSTANT) != 0 ? new Mapper.Constant<>(nullValue)
+                : (flags & NULL_UNSUPPORTED) != 0 ? Mapper.Unsupported.nullValue() : null;
+        final Function<I, O> defaultFunction = (flags & DEFAULT_CONSTANT) != 0 ? new Mapper.Constant<>(defaultValue)
+                : (flags & DEFAULT_UNSUPPORTED) != 0 ? unsupportedValue : null;
+        return Mapper.of(inType, outType, mappings, defaultFunction, nullSupplier, System.nanoTime() - start);
+    }
+}
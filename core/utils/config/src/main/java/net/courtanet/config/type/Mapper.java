@@ -3,9 +3,16 @@
  */
 package net.courtanet.config.type;
 
+import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Mapper is a utility class for defining static mappings between two well defined types.
@@ -28,27 +35,85 @@ public class Mapper<I, O> {
         return new MapperBuilder<>(inType, outType);
     }
 
+    /**
+     * Create a builder of mapper dispatching on the runtime class of input values.
+     *
+     * @param baseType input base type class
+     * @param outType  output type class
+     * @param <I>      input base type
+     * @param <O>      output type
+     * @return type mapper builder
+     * @see TypeMapper
+     */
+    public static <I, O> TypeMapper.TypeMapperBuilder<I, O> byType(Class<I> baseType, Class<O> outType) {
+        return new TypeMapper.TypeMapperBuilder<>(baseType, outType);
+    }
+
+    /**
+     * Create a builder of enum mapper mapping each input constant to the output constant with the same name.
+     *
+     * @param inType  input enum class
+     * @param outType output enum class
+     * @param <I>     input type
+     * @param <O>     output type
+     * @return name mapper builder
+     * @see NameMapperBuilder
+     */
+    public static <I extends Enum<I>, O extends Enum<O>> NameMapperBuilder<I, O> byName(Class<I> inType,
+            Class<O> outType) {
+        return new NameMapperBuilder<>(inType, outType);
+    }
+
+    /**
+     * Create a builder of one-to-many mapper, mapping each input value to several output values.
+     *
+     * @param inType  input type class
+     * @param outType output type class
+     * @param <I>     input type
+     * @param <O>     output type
+     * @return multi value mapper builder
+     * @see MultiValueMapper
+     */
+    public static <I, O> MultiValueMapper.MultiValueMapperBuilder<I, O> multiValue(Class<I> inType,
+            Class<O> outType) {
+        return new MultiValueMapper.MultiValueMapperBuilder<>(inType, outType);
+    }
+
     private final Class<I> inType;
 
     private final Class<O> outType;
 
-    private final Map<I, Function<I, O>> mappings;
+    private final MappingTable<I, O> table;
 
     private final Function<I, O> defaultFunction;
 
     private final Supplier<O> nullSupplier;
 
+    private final long buildNanos;
+
+    private final LongAdder calls;
+
+    private MapperInterner.Key internKey;
+
+    private volatile Mapper<O, List<I>> inverse;
+
+    private volatile Mapper<O, I> inverseUnique;
+
     private Mapper(Class<I> inType,
             Class<O> outType,
-            Map<I, Function<I, O>> mappings,
+            MappingTable<I, O> table,
             Function<I, O> defaultFunction,
-            Supplier<O> nullSupplier) {
+            Supplier<O> nullSupplier,
+            long buildNanos,
+            LongAdder calls) {
 
         this.inType = inType;
         this.outType = outType;
-        this.mappings = mappings;
+        this.table = table;
         this.defaultFunction = defaultFunction;
         this.nullSupplier = nullSupplier;
+        this.buildNanos = buildNanos;
+        this.calls = calls;
     }
 
     /**
@@ -83,7 +148,58 @@ public class Mapper<I, O> {
      * @return immutable map of mappings
      */
     public Map<I, Function<I, O>> getMappings() {
-        return mappings;
+        return table.asMap();
+    }
+
+    /**
+     * @return table of static mappings
+     */
+    MappingTable<I, O> getTable() {
+        return table;
+    }
+
+    /**
+     * Keep the key of an interned mapper alive as long as the mapper.
+     *
+     * @param internKey structural key
+     */
+    void setInternKey(MapperInterner.Key internKey) {
+        this.internKey = internKey;
+    }
+
+    /**
+     * @return nanoseconds elapsed building the mapper
+     */
+    long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Remove mapped values not given by the application, such as warm-up calls, from the call count.
+     *
+     * @param count number of mapped values to remove
+     */
+    final void discountCalls(long count) {
+        if (calls != null) {
+            calls.add(-count);
+        }
+    }
+
+    /**
+     * Count a mapped value, when metrics are enabled.
+     */
+    final void countCall() {
+        if (calls != null) {
+            calls.increment();
+        }
+    }
+
+    /**
+     * @return number of mapped values, {@code -1} when metrics are not enabled
+     * @see MapperBuilder#withMetrics()
+     */
+    long getCallCount() {
+        return calls == null ? -1L : calls.sum();
     }
 
     /**
@@ -95,15 +211,352 @@ public class Mapper<I, O> {
      * @throws IllegalArgumentException if mapping is not defined.
      */
     public O map(I input) {
+        countCall();
         if (nullSupplier != null && input == null) {
             return nullSupplier.get();
         }
-        if (mappings.containsKey(input)) {
-            return mappings.get(input).apply(input);
+        final Function<I, O> function = table.get(input);
+        if (function != null) {
+            return function.apply(input);
+        }
+        if (defaultFunction == null) {
+            throw new IllegalArgumentException(input + " value not supported");
         }
-        return Optional.ofNullable(defaultFunction)
-                .orElseThrow(() -> new IllegalArgumentException(input + " value not supported"))
-                .apply(input);
+        return defaultFunction.apply(input);
+    }
+
+    /**
+     * Map all input values, in iteration order.
+     * When the default mapping is defined with {@link MapperBuilder#withBatchDefault(Function)}, distinct values
+     * without static mapping are resolved with a single call to the batch function.
+     *
+     * @param inputs input values
+     * @return output values, in input order
+     * @throws IllegalArgumentException if mapping is not defined for one of the values.
+     */
+    @SuppressWarnings("unchecked")
+    public List<O> mapAll(Collection<? extends I> inputs) {
+        final List<O> outputs = new ArrayList<>(inputs.size());
+        if (!(defaultFunction instanceof BatchDefault)) {
+            for (I input : inputs) {
+                outputs.add(map(input));
+            }
+            return outputs;
+        }
+        final Object[] values = inputs.toArray();
+        if (calls != null) {
+            calls.add(values.length);
+        }
+        final Set<I> misses = new LinkedHashSet<>();
+        for (Object value : values) {
+            final I input = (I) value;
+            if (nullSupplier != null && input == null) {
+                outputs.add(nullSupplier.get());
+                continue;
+            }
+            final Function<I, O> function = table.get(input);
+            if (function != null) {
+                outputs.add(function.apply(input));
+            } else {
+                misses.add(input);
+                outputs.add(null);
+            }
+        }
+        if (!misses.isEmpty()) {
+            final Map<I, O> resolved = ((BatchDefault<I, O>) defaultFunction).applyAll(misses);
+            for (int i = 0; i < values.length; i++) {
+                final I input = (I) values[i];
+                if (misses.contains(input)) {
+                    outputs.set(i, BatchDefault.get(resolved, input));
+                }
+            }
+        }
+        return outputs;
+    }
+
+    /**
+     * @return function mapping values with this mapper
+     */
+    public Function<I, O> asFunction() {
+        return this::map;
+    }
+
+    /**
+     * @param downstream collector of output values
+     * @param <A>        downstream accumulation type
+     * @param <R>        downstream result type
+     * @return collector mapping input values with this mapper before collecting them with the downstream collector
+     */
+    public <A, R> Collector<I, ?, R> mapping(Collector<? super O, A, R> downstream) {
+        return Collectors.mapping(this::map, downstream);
+    }
+
+    /**
+     * Map the values of a spliterator lazily, keeping its size and splitting characteristics.
+     *
+     * @param source input values spliterator
+     * @return output values spliterator
+     */
+    public Spliterator<O> spliterator(Spliterator<? extends I> source) {
+        return new MappingSpliterator<>(Objects.requireNonNull(source, "Spliterator is null."), this);
+    }
+
+    /**
+     * @param inputs   input values
+     * @param parallel whether the stream is parallel
+     * @return stream of output values, sized and split as the input collection
+     */
+    public Stream<O> stream(Collection<? extends I> inputs, boolean parallel) {
+        return StreamSupport.stream(spliterator(inputs.spliterator()), parallel);
+    }
+
+    /**
+     * Map a column of input values, mapping each distinct value only once.
+     *
+     * @param values input values
+     * @return output values, in input order
+     * @throws IllegalArgumentException if mapping is not defined for one of the values.
+     * @see #encodeColumn(Object[])
+     */
+    public O[] mapColumn(I[] values) {
+        return encodeColumn(values).toArray();
+    }
+
+    /**
+     * Map a column of input values into a dictionary encoded column.
+     * Distinct input values are collected first, then mapped only once with {@link #mapAll(Collection)}.
+     *
+     * @param values input values
+     * @return dictionary encoded output values, in input order
+     * @throws IllegalArgumentException if mapping is not defined for one of the values.
+     */
+    @SuppressWarnings("unchecked")
+    public DictionaryColumn<O> encodeColumn(I[] values) {
+        final int[] codes = new int[values.length];
+        final List<I> distinct = new ArrayList<>();
+        if (inType.isEnum()) {
+            // slot 0 is kept for null, codes are shifted by one so that 0 means not encoded yet
+            final int[] codeBySlot = new int[inType.getEnumConstants().length + 1];
+            for (int row = 0; row < values.length; row++) {
+                final I value = values[row];
+                final int slot = value == null ? 0 : ((Enum<?>) value).ordinal() + 1;
+                if (codeBySlot[slot] == 0) {
+                    distinct.add(value);
+                    codeBySlot[slot] = distinct.size();
+                }
+                codes[row] = codeBySlot[slot] - 1;
+            }
+        } else {
+            final Map<I, Integer> codeByValue = new HashMap<>();
+            for (int row = 0; row < values.length; row++) {
+                final I value = values[row];
+                Integer code = codeByValue.get(value);
+                if (code == null) {
+                    code = distinct.size();
+                    distinct.add(value);
+                    codeByValue.put(value, code);
+                }
+                codes[row] = code;
+            }
+        }
+        final List<O> outputs = mapAll(distinct);
+        final O[] dictionary = outputs.toArray((O[]) Array.newInstance(outType, outputs.size()));
+        return new DictionaryColumn<>(codes, dictionary);
+    }
+
+    /**
+     * Create a builder defining the same mappings, default and null mappings as this mapper, to derive a new mapper.
+     * Enum mappings are copied; other mappings are shared with this mapper, mappings defined on the builder being
+     * looked up first in a small table of their own. The builder keeps the metrics, interned and adaptive settings
+     * of this mapper; an adaptive mapper is derived from its static mappings, without the values it sampled.
+     * Strict checking and registration are not kept: the derived mapper is built unchecked and unregistered unless
+     * set again on the builder.
+     *
+     * @return mapper builder to build
+     */
+    public MapperBuilder<I, O> toBuilder() {
+        final MapperBuilder<I, O> builder = new MapperBuilder<>(inType, outType);
+        MappingTable<I, O> base = table;
+        if (table instanceof AdaptiveTable) {
+            final AdaptiveTable<I, O> adaptive = (AdaptiveTable<I, O>) table;
+            base = adaptive.getTable();
+            builder.adaptiveWindow = adaptive.getWindow();
+            builder.hotKeys = adaptive.getHotKeys();
+        }
+        if (inType.isEnum()) {
+            builder.mappings.putAll(base.asMap());
+        } else if (base.size() > 0) {
+            builder.base = base;
+        }
+        builder.defaultFunction = defaultFunction;
+        builder.nullSupplier = nullSupplier;
+        builder.metrics = calls != null;
+        builder.interned = internKey != null;
+        return builder;
+    }
+
+    /**
+     * Derive a mapper mapping the given values to constant values, and other values as this mapper.
+     *
+     * @param overrides output values by input value
+     * @return new immutable Mapper
+     * @see #toBuilder()
+     */
+    public Mapper<I, O> withOverrides(Map<? extends I, ? extends O> overrides) {
+        final MapperBuilder<I, O> builder = toBuilder();
+        overrides.forEach((in, out) -> builder.map(in).to(out));
+        return builder.build();
+    }
+
+    /**
+     * Inverse of this constant-only mapper, mapping each output value to the immutable list of input values mapped
+     * to it, in table order, and other output values to an empty list. Computed once and cached.
+     * Inputs mapped to {@code null} are not inverted; for non enum inputs, only static mappings are inverted.
+     *
+     * @return inverse mapper
+     * @throws IllegalStateException when a mapping is not a constant nor unsupported.
+     */
+    @SuppressWarnings("unchecked")
+    public Mapper<O, List<I>> inverse() {
+        Mapper<O, List<I>> mapper = inverse;
+        if (mapper == null) {
+            final long start = System.nanoTime();
+            final Class<List<I>> listType = (Class<List<I>>) (Class<?>) List.class;
+            final Map<O, Function<O, List<I>>> mappings = new MapperBuilder<>(outType, listType).mappings;
+            inverseMappings().forEach((out, ins) -> mappings.put(out,
+                    new Constant<>(Collections.unmodifiableList(new ArrayList<>(ins)))));
+            mapper = of(outType, listType, mappings, new Constant<>(Collections.emptyList()), Unsupported.nullValue(),
+                    System.nanoTime() - start);
+            inverse = mapper;
+        }
+        return mapper;
+    }
+
+    /**
+     * Inverse of this one-to-one constant-only mapper, mapping each output value to the input value mapped to it.
+     * Other output values are not supported. Computed once and cached.
+     * Inputs mapped to {@code null} are not inverted; for non enum inputs, only static mappings are inverted.
+     *
+     * @return inverse mapper
+     * @throws IllegalStateException when a mapping is not a constant nor unsupported, or when several input values
+     *                               are mapped to the same output value.
+     */
+    public Mapper<O, I> inverseUnique() {
+        Mapper<O, I> mapper = inverseUnique;
+        if (mapper == null) {
+            final long start = System.nanoTime();
+            final Map<O, Function<O, I>> mappings = new MapperBuilder<>(outType, inType).mappings;
+            inverseMappings().forEach((out, ins) -> {
+                if (ins.size() > 1) {
+                    throw new IllegalStateException("Mapper is not one-to-one, " + ins + " are mapped to " + out
+                            + ".");
+                }
+                mappings.put(out, new Constant<>(ins.get(0)));
+            });
+            mapper = of(outType, inType, mappings, Unsupported.value(), Unsupported.nullValue(),
+                    System.nanoTime() - start);
+            inverseUnique = mapper;
+        }
+        return mapper;
+    }
+
+    private Map<O, List<I>> inverseMappings() {
+        if (defaultFunction != null && !(defaultFunction instanceof Constant)
+                && !(defaultFunction instanceof Unsupported)) {
+            throw new IllegalStateException("Default mapping " + defaultFunction + " is not a constant.");
+        }
+        final Map<O, List<I>> inverted = new LinkedHashMap<>();
+        final Iterable<I> inputs = inType.isEnum() ? Arrays.asList(inType.getEnumConstants()) : table.asMap().keySet();
+        for (I in : inputs) {
+            Function<I, O> function = table.get(in);
+            if (function == null) {
+                function = defaultFunction;
+            }
+            if (function instanceof Constant) {
+                final O out = ((Constant<I, O>) function).getValue();
+                if (out != null) {
+                    inverted.computeIfAbsent(out, key -> new ArrayList<>()).add(in);
+                }
+            } else if (function != null && !(function instanceof Unsupported)) {
+                throw new IllegalStateException("Mapping of " + in + " is not a constant.");
+            }
+        }
+        return inverted;
+    }
+
+    /**
+     * Chain this mapper with a fallback mapper consulted for every input value this mapper does not support,
+     * that is values without static mapping when no default mapping is defined, and values mapped with
+     * {@code withIllegalArgumentException}.
+     * Static mappings of both mappers are merged once into a single table, this mapper taking precedence,
+     * so the fallback does not cost an exception nor a second lookup at mapping time.
+     *
+     * @param fallback mapper to use for unsupported values
+     * @return new immutable Mapper
+     */
+    public Mapper<I, O> orElse(Mapper<I, O> fallback) {
+        Objects.requireNonNull(fallback, "Fallback mapper is null.");
+        final long start = System.nanoTime();
+        final boolean defaultSupported = isSupported(defaultFunction);
+        final Map<I, Function<I, O>> merged = new MapperBuilder<>(inType, outType).mappings;
+        if (!defaultSupported) {
+            merged.putAll(fallback.getMappings());
+        }
+        getMappings().forEach((in, function) -> {
+            if (isSupported(function)) {
+                merged.put(in, function);
+            } else if (fallback.table.get(in) != null) {
+                merged.put(in, fallback.table.get(in));
+            } else if (fallback.defaultFunction != null) {
+                merged.put(in, fallback.defaultFunction);
+            } else {
+                merged.put(in, function);
+            }
+        });
+        final Function<I, O> mergedDefault = defaultSupported ? defaultFunction : fallback.defaultFunction;
+        final Supplier<O> mergedNull;
+        if (isSupported(nullSupplier) || (nullSupplier == null && defaultSupported)) {
+            mergedNull = nullSupplier;
+        } else {
+            mergedNull = fallback.nullSupplier;
+        }
+        return specialize(new Mapper<>(inType, outType, MappingTable.of(inType, merged), mergedDefault, mergedNull,
+                System.nanoTime() - start, calls == null && fallback.calls == null ? null : new LongAdder()));
+    }
+
+    /**
+     * Create a mapper from its resolved configuration, without builder nor configuration checks.
+     *
+     * @param inType          input type class
+     * @param outType         output type class
+     * @param mappings        static mappings
+     * @param defaultFunction default mapping, {@code null} when not defined
+     * @param nullSupplier    null mapping, {@code null} when not defined
+     * @param buildNanos      nanoseconds elapsed creating the mapper
+     * @return new immutable Mapper
+     */
+    static <I, O> Mapper<I, O> of(Class<I> inType, Class<O> outType, Map<I, Function<I, O>> mappings,
+            Function<I, O> defaultFunction, Supplier<O> nullSupplier, long buildNanos) {
+        return specialize(new Mapper<>(inType, outType, MappingTable.of(inType, mappings), defaultFunction,
+                nullSupplier, buildNanos, null));
+    }
+
+    /**
+     * Pick the implementation without unreachable branches: enum mappers resolve every constant, default mapping
+     * included, with a single array lookup, and enum to enum constant mappings are translated by ordinal.
+     *
+     * @param mapper generic mapper
+     * @return specialized mapper
+     */
+    private static <I, O> Mapper<I, O> specialize(Mapper<I, O> mapper) {
+        if (!mapper.inType.isEnum()) {
+            return mapper;
+        }
+        return mapper.outType.isEnum() ? new OrdinalMapper<>(mapper) : new EnumMapper<>(mapper);
+    }
+
+    private static boolean isSupported(Object function) {
+        return function != null && !(function instanceof Unsupported);
     }
 
     @Override
@@ -111,7 +564,7 @@ public class Mapper<I, O> {
         return "Mapper{" +
                 "inType=" + inType +
                 ", outType=" + outType +
-                ", mappings=" + mappings +
+                ", mappings=" + table.asMap() +
                 ", defaultFunction=" + defaultFunction +
                 ", nullSupplier=" + nullSupplier +
                 '}';
@@ -124,8 +577,15 @@ public class Mapper<I, O> {
         private final Map<I, Function<I, O>> mappings;
         private Function<I, O> defaultFunction = null;
         private Supplier<O> nullSupplier = null;
+        private MappingTable<I, O> base = null;
+        private boolean metrics = false;
+        private boolean interned = false;
+        private boolean strict = false;
+        private long adaptiveWindow = 0L;
+        private int hotKeys = 0;
+        private String registeredName = null;
 
-        @SuppressWarnings("unchecked")
+        @SuppressWarnings({ "unchecked", "rawtypes" })
         MapperBuilder(Class<I> inType, Class<O> outType) {
             this.inType = inType;
             this.outType = outType;
@@ -139,18 +599,30 @@ public class Mapper<I, O> {
         /**
          * Build the immutable Mapper with enough information to define a mapping.
          * Configuration is complete when there is at least one static mapping or a default mapping defined.
+         * When no null mapping is defined, a default function other than a constant or a batch function is called
+         * once with a null value to check it does not throw a {@link NullPointerException}, unless the builder is
+         * {@link #strict()}.
+         * Enum mappers are built without table nor default branches.
          *
          * @return built immutable Mapper
-         * @throws IllegalStateException when mapper configuration is incomplete.
+         * @throws IllegalStateException when mapper configuration is incomplete, or not exhaustive in strict mode.
          */
         public Mapper<I, O> build() {
-            if (mappings.isEmpty() && defaultFunction == null) {
+            final long start = System.nanoTime();
+            if (mappings.isEmpty() && base == null && defaultFunction == null) {
                 throw new IllegalStateException(
                         "Mapper configuration incomplete. Specify at least one mapping or a default function.");
             }
-            if (defaultFunction != null && nullSupplier == null) {
+            if (strict) {
+                checkExhaustive();
+            } else if (defaultFunction != null && nullSupplier == null && !(defaultFunction instanceof Constant)
+                    && !(defaultFunction instanceof Unsupported) && !(defaultFunction instanceof BatchDefault)) {
                 try {
-                    defaultFunction.apply(null);
+                    if (defaultFunction instanceof CachedFunction) {
+                        ((CachedFunction<I, O>) defaultFunction).getFunction().apply(null);
+                    } else {
+                        defaultFunction.apply(null);
+                    }
                 } catch (NullPointerException e) {
                     throw new IllegalStateException("Mapper configuration invalid. " +
                             "Default function throws NullPointerException with a null value. " +
@@ -159,7 +631,121 @@ public class Mapper<I, O> {
 
                 }
             }
-            return new Mapper<>(inType, outType, Collections.unmodifiableMap(mappings), defaultFunction, nullSupplier);
+            MappingTable<I, O> table = base == null ? MappingTable.of(inType, mappings)
+                    : OverlayTable.of(inType, base, mappings);
+            final boolean adaptive = adaptiveWindow > 0 && !inType.isEnum();
+            if (adaptive) {
+                table = new AdaptiveTable<>(table, adaptiveWindow, hotKeys);
+            }
+            Mapper<I, O> mapper = specialize(new Mapper<>(inType, outType, table, defaultFunction, nullSupplier,
+                    System.nanoTime() - start, metrics ? new LongAdder() : null));
+            if (interned && !metrics && !adaptive) {
+                mapper = MapperInterner.intern(mapper);
+            }
+            return registeredName == null ? mapper : MapperRegistry.register(registeredName, mapper);
+        }
+
+        private void checkExhaustive() {
+            if (nullSupplier == null) {
+                throw new IllegalStateException("Mapper configuration not exhaustive. Specify a null mapping.");
+            }
+            if (inType.isEnum()) {
+                final List<String> unmapped = new ArrayList<>();
+                for (I in : inType.getEnumConstants()) {
+                    if (!mappings.containsKey(in)) {
+                        unmapped.add(String.valueOf(in));
+                    }
+                }
+                if (!unmapped.isEmpty() && defaultFunction == null) {
+                    throw new IllegalStateException("Mapper configuration not exhaustive. " +
+                            "Specify a mapping for " + String.join(", ", unmapped) + " or a default function.");
+                }
+                if (unmapped.isEmpty() && defaultFunction != null) {
+                    throw new IllegalStateException("Mapper configuration invalid. " +
+                            "Default function is unreachable, every value has a mapping.");
+                }
+            } else if (defaultFunction == null) {
+                throw new IllegalStateException("Mapper configuration not exhaustive. Specify a default function.");
+            }
+        }
+
+        /**
+         * Make an incomplete mapping a build error: every value, null included, must have a mapping, and a default
+         * mapping must be reachable. Exhaustiveness is checked from the configuration, without calling the default
+         * function with a null value.
+         *
+         * @return mapper builder to build.
+         */
+        public final MapperBuilder<I, O> strict() {
+            this.strict = true;
+            return this;
+        }
+
+        /**
+         * Count mapped values, reported by {@link MapperRegistry}.
+         * Counting costs an increment of a {@link LongAdder} for each mapped value.
+         *
+         * @return mapper builder to build.
+         */
+        public final MapperBuilder<I, O> withMetrics() {
+            this.metrics = true;
+            return this;
+        }
+
+        /**
+         * Specialize the static mappings table for the dominant input values, as sampled during the first
+         * 10000 mapped values with a static mapping: the 3 most frequent values are then checked first.
+         * Ignored for enum inputs, already mapped through an array indexed by ordinal.
+         *
+         * @return mapper builder to build.
+         * @see #adaptive(long, int)
+         */
+        public final MapperBuilder<I, O> adaptive() {
+            return adaptive(10_000L, 3);
+        }
+
+        /**
+         * Specialize the static mappings table for the dominant input values, sampled during a warm-up window.
+         * Once the window is complete, the most frequent values are checked by identity, then by equality, before
+         * looking up the table; inputs that are the key instances of the mappings, as string constants, take the
+         * identity check. Ignored for enum inputs, already mapped through an array indexed by ordinal.
+         *
+         * @param window  number of mapped values with a static mapping to sample
+         * @param hotKeys number of values to check first
+         * @return mapper builder to build.
+         * @throws IllegalArgumentException when window or hotKeys is not positive.
+         */
+        public final MapperBuilder<I, O> adaptive(long window, int hotKeys) {
+            if (window <= 0 || hotKeys <= 0) {
+                throw new IllegalArgumentException("Adaptive window and hot keys must be positive.");
+            }
+            this.adaptiveWindow = window;
+            this.hotKeys = hotKeys;
+            return this;
+        }
+
+        /**
+         * Share a single immutable instance between structurally identical constant-only mappers: mappers mapping
+         * the same values, null and default values to equal constants, or to the same unsupported mapping.
+         * Canonical instances are weakly cached. Mappers with a mapping function, with metrics enabled or adaptive
+         * are not interned.
+         *
+         * @return mapper builder to build.
+         */
+        public final MapperBuilder<I, O> interned() {
+            this.interned = true;
+            return this;
+        }
+
+        /**
+         * Register the built mapper in {@link MapperRegistry} with the given name.
+         *
+         * @param name name of the mapper in reports
+         * @return mapper builder to build.
+         */
+        public final MapperBuilder<I, O> registered(String name) {
+            this.registeredName = Objects.requireNonNull(name, "Mapper name is null.");
+            return this;
         }
 
         /**
@@ -178,7 +764,52 @@ public class Mapper<I, O> {
          * @return mapper builder to build.
          */
         public final MapperBuilder<I, O> withDefault(O defaultValue) {
-            return withDefault(in -> defaultValue);
+            return withDefault(new Constant<>(defaultValue));
+        }
+
+        /**
+         * Defines the mapping for input values for which there is no static mapping, resolving several values at
+         * once. {@link Mapper#mapAll(Collection)} calls the batch function once with all distinct values without
+         * static mapping, {@link Mapper#map(Object)} calls it with a single value.
+         * Values missing from the returned map are not supported. The batch function is not called by
+         * {@link #build()} to check null values: specify a null mapping when it does not support them.
+         *
+         * @param batchFunction function returning output values by input value
+         * @return mapper builder to build.
+         */
+        public final MapperBuilder<I, O> withBatchDefault(Function<Collection<I>, Map<I, O>> batchFunction) {
+            Objects.requireNonNull(batchFunction, "Batch function is null.");
+            return withDefault(new BatchDefault<>(batchFunction));
+        }
+
+        /**
+         * Defines the mapping for input values for which there is no static mapping, memoizing its results
+         * in a bounded cache evicting least recently used values.
+         * Cache statistics are available from {@link Mapper#getDefaultMapping()}, as a {@link CachedFunction}.
+         *
+         * @param defaultFunction function to apply
+         * @param maxSize         maximum number of cached results
+         * @return mapper builder to build.
+         * @throws IllegalArgumentException when maxSize is not positive.
+         */
+        public final MapperBuilder<I, O> withCachedDefault(Function<I, O> defaultFunction, int maxSize) {
+            return withCachedDefault(defaultFunction, maxSize, 0L, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Defines the mapping for input values for which there is no static mapping, memoizing its results
+         * in a bounded cache evicting least recently used values, and results older than the given duration.
+         *
+         * @param defaultFunction  function to apply
+         * @param maxSize          maximum number of cached results
+         * @param expireAfterWrite duration after which a cached result is computed again, {@code 0} to never expire
+         * @param unit             unit of expireAfterWrite duration
+         * @return mapper builder to build.
+         * @throws IllegalArgumentException when maxSize is not positive or expireAfterWrite is negative.
+         */
+        public final MapperBuilder<I, O> withCachedDefault(Function<I, O> defaultFunction, int maxSize,
+                long expireAfterWrite, TimeUnit unit) {
+            return withDefault(new CachedFunction<>(defaultFunction, maxSize, expireAfterWrite, unit));
         }
 
         /**
@@ -201,6 +832,7 @@ public class Mapper<I, O> {
          * @throws NullPointerException when in value is {@code null}.
          */
         @SafeVarargs
+        @SuppressWarnings("varargs")
         public final MultiMapping<I, O> map(I... in) {
             Objects.requireNonNull(in, "Array of values is null. Use mapNull method for mapping null value");
             return new MultiMapping<>(in, this);
@@ -257,7 +889,7 @@ public class Mapper<I, O> {
          * @return mapper builder to build.
          */
         public MapperBuilder<I, O> to(O out) {
-            return this.with((in) -> out);
+            return this.with(new Constant<>(out));
         }
 
         /**
@@ -268,9 +900,7 @@ public class Mapper<I, O> {
          */
         public MapperBuilder<I, O> withIllegalArgumentException(Function<I, String> exceptionMessage) {
             Objects.requireNonNull(exceptionMessage);
-            return with((e) -> {
-                throw new IllegalArgumentException(exceptionMessage.apply(e));
-            });
+            return with(new Unsupported<>(exceptionMessage));
         }
 
         /**
@@ -279,7 +909,7 @@ public class Mapper<I, O> {
          * @return mapper builder to build.
          */
         public MapperBuilder<I, O> withIllegalArgumentException() {
-            return withIllegalArgumentException((e) -> "Unsupported " + e + " value.");
+            return with(Unsupported.value());
         }
 
     }
@@ -362,7 +992,7 @@ public class Mapper<I, O> {
          * @return mapper builder to build.
          */
         public MapperBuilder<I, O> to(O out) {
-            return this.with(() -> out);
+            return this.with(new Constant<I, O>(out));
         }
 
         /**
@@ -371,9 +1001,233 @@ public class Mapper<I, O> {
          * @return mapper builder to build.
          */
         public MapperBuilder<I, O> withIllegalArgumentException() {
-            return with(() -> {
-                throw new IllegalArgumentException("Unsupported null value.");
-            });
+            return with(Unsupported.nullValue());
+        }
+    }
+
+    /**
+     * Enum mapper resolving the function of every constant once, default mapping included, so that mapping a value
+     * is a single array lookup, without table nor default branches.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    static class EnumMapper<I, O> extends Mapper<I, O> {
+
+        private final Function<I, O>[] functions;
+
+        private final Supplier<O> nullBranch;
+
+        @SuppressWarnings("unchecked")
+        EnumMapper(Mapper<I, O> mapper) {
+            super(mapper.inType, mapper.outType, mapper.table, mapper.defaultFunction, mapper.nullSupplier,
+                    mapper.buildNanos, mapper.calls);
+            final I[] constants = mapper.inType.getEnumConstants();
+            final Function<I, O> missing = mapper.defaultFunction != null ? mapper.defaultFunction
+                    : new Unsupported<>(in -> in + " value not supported");
+            this.functions = (Function<I, O>[]) new Function<?, ?>[constants.length];
+            for (int i = 0; i < constants.length; i++) {
+                final Function<I, O> function = mapper.table.get(constants[i]);
+                functions[i] = function != null ? function : missing;
+            }
+            if (mapper.nullSupplier != null) {
+                this.nullBranch = mapper.nullSupplier;
+            } else if (mapper.defaultFunction != null) {
+                final Function<I, O> defaultFunction = mapper.defaultFunction;
+                this.nullBranch = () -> defaultFunction.apply(null);
+            } else {
+                this.nullBranch = new Unsupported<>(in -> "null value not supported");
+            }
+        }
+
+        @Override
+        public O map(I input) {
+            countCall();
+            return mapEnum(input);
+        }
+
+        final O mapEnum(I input) {
+            if (input == null) {
+                return nullBranch.get();
+            }
+            return functions[((Enum<?>) input).ordinal()].apply(input);
+        }
+    }
+
+    /**
+     * Enum to enum mapper translating constant mappings through a table indexed by input ordinal, so that mapping
+     * a value is a single array lookup returning the output constant. Other mappings are applied as in
+     * {@link EnumMapper}.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    static final class OrdinalMapper<I, O> extends EnumMapper<I, O> {
+
+        private static final int DELEGATE = -1;
+
+        private final int[] translation;
+
+        private final Object[] outputs;
+
+        @SuppressWarnings("unchecked")
+        OrdinalMapper(Mapper<I, O> mapper) {
+            super(mapper);
+            final I[] constants = mapper.inType.getEnumConstants();
+            final O[] values = mapper.outType.getEnumConstants();
+            // last slot is kept for constant null mappings
+            this.outputs = Arrays.copyOf(values, values.length + 1, Object[].class);
+            this.translation = new int[constants.length];
+            for (int i = 0; i < constants.length; i++) {
+                Function<I, O> function = mapper.table.get(constants[i]);
+                if (function == null) {
+                    function = mapper.defaultFunction;
+                }
+                if (function instanceof Constant) {
+                    final O value = ((Constant<I, O>) function).getValue();
+                    translation[i] = value == null ? values.length : ((Enum<?>) value).ordinal();
+                } else {
+                    translation[i] = DELEGATE;
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public O map(I input) {
+            countCall();
+            if (input != null) {
+                final int code = translation[((Enum<?>) input).ordinal()];
+                if (code != DELEGATE) {
+                    return (O) outputs[code];
+                }
+            }
+            return mapEnum(input);
+        }
+    }
+
+    /**
+     * Mapping to a constant value, as defined with {@code to} methods or {@link MapperBuilder#withDefault(Object)}.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    public static final class Constant<I, O> implements Function<I, O>, Supplier<O> {
+
+        private final O value;
+
+        Constant(O value) {
+            this.value = value;
+        }
+
+        /**
+         * @return constant output value
+         */
+        public O getValue() {
+            return value;
+        }
+
+        @Override
+        public O apply(I in) {
+            return value;
+        }
+
+        @Override
+        public O get() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "Constant{" + value + '}';
+        }
+    }
+
+    /**
+     * Default mapping resolving values with a batch function, one value at a time when used as a function.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    static final class BatchDefault<I, O> implements Function<I, O> {
+
+        private final Function<Collection<I>, Map<I, O>> batchFunction;
+
+        BatchDefault(Function<Collection<I>, Map<I, O>> batchFunction) {
+            this.batchFunction = batchFunction;
+        }
+
+        @Override
+        public O apply(I in) {
+            return get(applyAll(Collections.singletonList(in)), in);
+        }
+
+        Map<I, O> applyAll(Collection<I> in) {
+            return Objects.requireNonNull(batchFunction.apply(in), "Batch function returned null.");
+        }
+
+        static <I, O> O get(Map<I, O> resolved, I in) {
+            final O out = resolved.get(in);
+            if (out == null && !resolved.containsKey(in)) {
+                throw new IllegalArgumentException(in + " value not supported");
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Mapping throwing an {@link IllegalArgumentException}, marking the value as not supported by the mapper.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    static final class Unsupported<I, O> implements Function<I, O>, Supplier<O> {
+
+        private static final Function<Object, String> VALUE_MESSAGE = in -> "Unsupported " + in + " value.";
+
+        private static final Function<Object, String> NULL_VALUE_MESSAGE = in -> "Unsupported null value.";
+
+        private final Function<I, String> exceptionMessage;
+
+        Unsupported(Function<I, String> exceptionMessage) {
+            this.exceptionMessage = exceptionMessage;
+        }
+
+        /**
+         * @return unsupported mapping with the default message of values
+         */
+        @SuppressWarnings("unchecked")
+        static <I, O> Unsupported<I, O> value() {
+            return new Unsupported<>((Function<I, String>) (Function<?, String>) VALUE_MESSAGE);
+        }
+
+        /**
+         * @return unsupported mapping with the default message of the null value
+         */
+        @SuppressWarnings("unchecked")
+        static <I, O> Unsupported<I, O> nullValue() {
+            return new Unsupported<>((Function<I, String>) (Function<?, String>) NULL_VALUE_MESSAGE);
+        }
+
+        /**
+         * @return {@code true} when the exception message is the default message of values or of the null value
+         */
+        boolean hasDefaultMessage() {
+            return exceptionMessage == VALUE_MESSAGE || exceptionMessage == NULL_VALUE_MESSAGE;
+        }
+
+        Function<I, String> getExceptionMessage() {
+            return exceptionMessage;
+        }
+
+        @Override
+        public O apply(I in) {
+            throw new IllegalArgumentException(exceptionMessage.apply(in));
+        }
+
+        @Override
+        public O get() {
+            return apply(null);
         }
     }
 }
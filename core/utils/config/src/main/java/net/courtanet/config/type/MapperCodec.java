@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Compact versioned binary encoding of constant-only {@link Mapper}s, to ship mappers built once to other
+ * processes.
+ * <p>
+ * An encoding is made of a header ({@link #MAGIC}, {@link #VERSION}), the input and output type descriptors, the
+ * {@link FrozenMapper} flags, a table of distinct strings, the constant mappings, the unsupported input values,
+ * then the null and default constants. Enum values are written as ordinals, string values as indexes in the
+ * string table, and the descriptor of an enum type carries a hash of its constant names, so that decoding fails
+ * when constants differ between processes. Decoding restores the mapper with
+ * {@link FrozenMapper#restore(Class, Class, Object[], Object[], Object[], int, Object, Object)}, each distinct
+ * string being decoded once.
+ * <p>
+ * Supported types are enums, {@link String}, {@link Integer}, {@link Long}, {@link Short}, {@link Byte},
+ * {@link Character}, {@link Boolean}, {@link Float} and {@link Double}.
+ */
+public final class MapperCodec {
+
+    /**
+     * First bytes of every encoding.
+     */
+    public static final int MAGIC = 0x4D415052;
+
+    /**
+     * Version of the encoding written by this class.
+     */
+    public static final int VERSION = 1;
+
+    private static final List<Class<?>> TYPES = Collections.unmodifiableList(Arrays.asList(Enum.class, String.class,
+            Integer.class, Long.class, Short.class, Byte.class, Character.class, Boolean.class, Float.class,
+            Double.class));
+
+    private MapperCodec() {
+    }
+
+    /**
+     * @param mapper constant-only mapper
+     * @return encoding of the mapper
+     * @throws IllegalArgumentException when the mapper has function mappings or unsupported types.
+     * @see #write(Mapper, DataOutput)
+     */
+    public static byte[] encode(Mapper<?, ?> mapper) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            write(mapper, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes   encoding of a mapper
+     * @param inType  expected input type class
+     * @param outType expected output type class
+     * @param <I>     input type
+     * @param <O>     output type
+     * @return new immutable Mapper
+     * @throws IllegalArgumentException when the encoding is not valid, or does not match the expected types.
+     * @see #read(DataInput, Class, Class)
+     */
+    public static <I, O> Mapper<I, O> decode(byte[] bytes, Class<I> inType, Class<O> outType) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(bytes)), inType, outType);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Truncated mapper encoding.", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the encoding of a constant-only mapper.
+     *
+     * @param mapper mapper to write
+     * @param out    output to write to
+     * @throws IOException              when writing fails.
+     * @throws IllegalArgumentException when the mapper has function mappings or unsupported types.
+     */
+    public static void write(Mapper<?, ?> mapper, DataOutput out) throws IOException {
+        if (!FrozenMapper.isFreezable(mapper)) {
+            throw new IllegalArgumentException("Mapper " + mapper + " can not be encoded. Only constant mappings"
+                    + " and withIllegalArgumentException without message are supported.");
+        }
+        final Class<?> inType = mapper.getInType();
+        final Class<?> outType = mapper.getOutType();
+        tag(inType);
+        tag(outType);
+        final int flags = FrozenMapper.flags(mapper);
+        final List<Object> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        final List<Object> unsupported = new ArrayList<>();
+        for (Map.Entry<?, ? extends Function<?, ?>> mapping : mapper.getMappings().entrySet()) {
+            if (mapping.getValue() instanceof Mapper.Constant) {
+                keys.add(mapping.getKey());
+                values.add(((Mapper.Constant<?, ?>) mapping.getValue()).getValue());
+            } else {
+                unsupported.add(mapping.getKey());
+            }
+        }
+        final Object nullValue = constant(mapper.getNullMapping());
+        final Object defaultValue = constant(mapper.getDefaultMapping());
+
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        if (inType == String.class) {
+            keys.forEach(key -> strings.putIfAbsent((String) key, strings.size()));
+            unsupported.forEach(key -> strings.putIfAbsent((String) key, strings.size()));
+        }
+        if (outType == String.class) {
+            for (Object value : values) {
+                if (value != null) {
+                    strings.putIfAbsent((String) value, strings.size());
+                }
+            }
+            for (Object value : Arrays.asList(nullValue, defaultValue)) {
+                if (value != null) {
+                    strings.putIfAbsent((String) value, strings.size());
+                }
+            }
+        }
+
+        out.writeInt(MAGIC);
+        writeVarInt(out, VERSION);
+        writeType(out, inType);
+        writeType(out, outType);
+        out.writeByte(flags);
+        writeVarInt(out, strings.size());
+        for (String string : strings.keySet()) {
+            final byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, utf8.length);
+            out.write(utf8);
+        }
+        writeVarInt(out, keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            writeValue(out, inType, keys.get(i), strings);
+            writeValue(out, outType, values.get(i), strings);
+        }
+        writeVarInt(out, unsupported.size());
+        for (Object key : unsupported) {
+            writeValue(out, inType, key, strings);
+        }
+        if ((flags & FrozenMapper.NULL_CONSTANT) != 0) {
+            writeValue(out, outType, nullValue, strings);
+        }
+        if ((flags & FrozenMapper.DEFAULT_CONSTANT) != 0) {
+            writeValue(out, outType, defaultValue, strings);
+        }
+    }
+
+    /**
+     * Read the encoding of a mapper.
+     *
+     * @param in      input to read from
+     * @param inType  expected input type class
+     * @param outType expected output type class
+     * @param <I>     input type
+     * @param <O>     output type
+     * @return new immutable Mapper
+     * @throws IOException              when reading fails.
+     * @throws IllegalArgumentException when the encoding is not valid, or does not match the expected types.
+     */
+    @SuppressWarnings("unchecked")
+    public static <I, O> Mapper<I, O> read(DataInput in, Class<I> inType, Class<O> outType) throws IOException {
+        Objects.requireNonNull(inType, "In type is null.");
+        Objects.requireNonNull(outType, "Out type is null.");
+        if (in.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a mapper encoding.");
+        }
+        final int version = readVarInt(in);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported mapper encoding version " + version + ".");
+        }
+        readType(in, inType);
+        readType(in, outType);
+        final int flags = in.readUnsignedByte();
+        final String[] strings = new String[readVarInt(in)];
+        byte[] buffer = new byte[0];
+        for (int i = 0; i < strings.length; i++) {
+            final int length = readVarInt(in);
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            in.readFully(buffer, 0, length);
+            strings[i] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+        final I[] inConstants = inType.getEnumConstants();
+        final O[] outConstants = outType.getEnumConstants();
+        final int size = readVarInt(in);
+        final I[] keys = (I[]) Array.newInstance(inType, size);
+        final O[] values = (O[]) Array.newInstance(outType, size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = readValue(in, inType, inConstants, strings);
+            values[i] = readValue(in, outType, outConstants, strings);
+        }
+        final I[] unsupported = (I[]) Array.newInstance(inType, readVarInt(in));
+        for (int i = 0; i < unsupported.length; i++) {
+            unsupported[i] = readValue(in, inType, inConstants, strings);
+        }
+        final O nullValue = (flags & FrozenMapper.NULL_CONSTANT) != 0
+                ? readValue(in, outType, outConstants, strings) : null;
+        final O defaultValue = (flags & FrozenMapper.DEFAULT_CONSTANT) != 0
+                ? readValue(in, outType, outConstants, strings) : null;
+        return FrozenMapper.restore(inType, outType, keys, values, unsupported, flags, nullValue, defaultValue);
+    }
+
+    private static Object constant(Object function) {
+        return function instanceof Mapper.Constant ? ((Mapper.Constant<?, ?>) function).getValue() : null;
+    }
+
+    private static int tag(Class<?> type) {
+        final int tag = TYPES.indexOf(type.isEnum() ? Enum.class : type);
+        if (tag < 0) {
+            throw new IllegalArgumentException("Encoding not supported for " + type.getName() + " values.");
+        }
+        return tag;
+    }
+
+    private static int enumHash(Class<?> type) {
+        int hash = 1;
+        for (Object constant : type.getEnumConstants()) {
+            hash = 31 * hash + ((Enum<?>) constant).name().hashCode();
+        }
+        return hash;
+    }
+
+    private static void writeType(DataOutput out, Class<?> type) throws IOException {
+        out.writeByte(tag(type));
+        if (type.isEnum()) {
+            out.writeUTF(type.getName());
+            writeVarInt(out, type.getEnumConstants().length);
+            out.writeInt(enumHash(type));
+        }
+    }
+
+    private static void readType(DataInput in, Class<?> type) throws IOException {
+        final int tag = in.readUnsignedByte();
+        if (tag != tag(type)) {
+            throw new IllegalArgumentException("Encoded type " + (tag < TYPES.size() ? TYPES.get(tag).getName() : tag)
+                    + " does not match " + type.getName() + ".");
+        }
+        if (type.isEnum()) {
+            final String name = in.readUTF();
+            final int count = readVarInt(in);
+            final int hash = in.readInt();
+            if (!name.equals(type.getName()) || count != type.getEnumConstants().length || hash != enumHash(type)) {
+                throw new IllegalArgumentException("Encoded enum " + name + " with " + count
+                        + " constants does not match " + type.getName() + " constants.");
+            }
+        }
+    }
+
+    private static void writeValue(DataOutput out, Class<?> type, Object value, Map<String, Integer> strings)
+            throws IOException {
+        if (type.isEnum()) {
+            writeVarInt(out, value == null ? 0 : ((Enum<?>) value).ordinal() + 1);
+        } else if (type == String.class) {
+            writeVarInt(out, value == null ? 0 : strings.get(value) + 1);
+        } else if (value == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            if (type == Integer.class) {
+                out.writeInt((Integer) value);
+            } else if (type == Long.class) {
+                out.writeLong((Long) value);
+            } else if (type == Short.class) {
+                out.writeShort((Short) value);
+            } else if (type == Byte.class) {
+                out.writeByte((Byte) value);
+            } else if (type == Character.class) {
+                out.writeChar((Character) value);
+            } else if (type == Boolean.class) {
+                out.writeBoolean((Boolean) value);
+            } else if (type == Float.class) {
+                out.writeFloat((Float) value);
+            } else {
+                out.writeDouble((Double) value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T readValue(DataInput in, Class<T> type, T[] constants, String[] strings) throws IOException {
+        if (type.isEnum() || type == String.class) {
+            final int index = readVarInt(in) - 1;
+            final Object[] table = type.isEnum() ? constants : strings;
+            if (index >= table.length) {
+                throw new IllegalArgumentException("Encoded " + type.getSimpleName() + " index " + index
+                        + " out of range.");
+            }
+            return index < 0 ? null : (T) table[index];
+        } else if (!in.readBoolean()) {
+            return null;
+        } else if (type == Integer.class) {
+            return (T) Integer.valueOf(in.readInt());
+        } else if (type == Long.class) {
+            return (T) Long.valueOf(in.readLong());
+        } else if (type == Short.class) {
+            return (T) Short.valueOf(in.readShort());
+        } else if (type == Byte.class) {
+            return (T) Byte.valueOf(in.readByte());
+        } else if (type == Character.class) {
+            return (T) Character.valueOf(in.readChar());
+        } else if (type == Boolean.class) {
+            return (T) Boolean.valueOf(in.readBoolean());
+        } else if (type == Float.class) {
+            return (T) Float.valueOf(in.readFloat());
+        }
+        return (T) Double.valueOf(in.readDouble());
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0 && value >= 0) {
+                return value;
+            } else if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        throw new IllegalArgumentException("Malformed mapper encoding.");
+    }
+}
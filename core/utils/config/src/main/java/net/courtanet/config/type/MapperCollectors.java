@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Collectors grouping values by their mapped value.
+ * When the mapper output type is an enum, groups are accumulated in an array indexed by ordinal and collected
+ * into an {@link EnumMap}, without hashing the keys.
+ */
+public final class MapperCollectors {
+
+    private MapperCollectors() {
+    }
+
+    /**
+     * @param mapper mapper of values to their group
+     * @param <T>    value type
+     * @param <K>    group type
+     * @return collector grouping values in lists by mapped value
+     * @see #groupingByMapped(Function, Mapper, Collector)
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingByMapped(Mapper<T, K> mapper) {
+        return groupingByMapped(Function.identity(), mapper, Collectors.toList());
+    }
+
+    /**
+     * @param mapper     mapper of values to their group
+     * @param downstream collector of the values of a group
+     * @param <T>        value type
+     * @param <K>        group type
+     * @param <A>        downstream accumulation type
+     * @param <D>        downstream result type
+     * @return collector grouping values by mapped value
+     * @see #groupingByMapped(Function, Mapper, Collector)
+     */
+    public static <T, K, A, D> Collector<T, ?, Map<K, D>> groupingByMapped(Mapper<T, K> mapper,
+            Collector<? super T, A, D> downstream) {
+        return groupingByMapped(Function.identity(), mapper, downstream);
+    }
+
+    /**
+     * Group values by the mapped value of one of their attributes, as {@link Collectors#groupingBy(Function,
+     * Collector)} would with a classifier mapping the attribute. The result is an {@link EnumMap} when the mapper
+     * output type is an enum.
+     *
+     * @param attribute  attribute of values to map
+     * @param mapper     mapper of attributes to their group
+     * @param downstream collector of the values of a group
+     * @param <T>        value type
+     * @param <I>        attribute type
+     * @param <K>        group type
+     * @param <A>        downstream accumulation type
+     * @param <D>        downstream result type
+     * @return collector grouping values by mapped attribute
+     * @throws NullPointerException     at collection time, when an attribute is mapped to {@code null}.
+     * @throws IllegalArgumentException at collection time, when an attribute is not supported by the mapper.
+     */
+    public static <T, I, K, A, D> Collector<T, ?, Map<K, D>> groupingByMapped(
+            Function<? super T, ? extends I> attribute, Mapper<I, K> mapper, Collector<? super T, A, D> downstream) {
+        Objects.requireNonNull(attribute, "Attribute function is null.");
+        Objects.requireNonNull(mapper, "Mapper is null.");
+        Objects.requireNonNull(downstream, "Downstream collector is null.");
+        final Function<T, K> classifier = value -> mapper.map(attribute.apply(value));
+        if (!mapper.getOutType().isEnum()) {
+            return Collectors.groupingBy(classifier, downstream);
+        }
+        return enumGrouping(classifier, mapper.getOutType(), downstream);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T, K, A, D> Collector<T, ?, Map<K, D>> enumGrouping(Function<T, K> classifier,
+            Class<K> outType, Collector<? super T, A, D> downstream) {
+        final K[] constants = outType.getEnumConstants();
+        final Supplier<A> supplier = downstream.supplier();
+        final BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        final BinaryOperator<A> combiner = downstream.combiner();
+        final Function<A, D> finisher = downstream.finisher();
+        return Collector.of(
+                () -> new Object[constants.length],
+                (groups, value) -> {
+                    final K key = Objects.requireNonNull(classifier.apply(value),
+                            "element cannot be mapped to a null key");
+                    final int ordinal = ((Enum<?>) key).ordinal();
+                    A group = (A) groups[ordinal];
+                    if (group == null) {
+                        group = supplier.get();
+                        groups[ordinal] = group;
+                    }
+                    accumulator.accept(group, value);
+                },
+                (left, right) -> {
+                    for (int i = 0; i < left.length; i++) {
+                        if (right[i] != null) {
+                            left[i] = left[i] == null ? right[i] : combiner.apply((A) left[i], (A) right[i]);
+                        }
+                    }
+                    return left;
+                },
+                groups -> {
+                    final Map<K, D> map = new EnumMap(outType);
+                    for (int i = 0; i < groups.length; i++) {
+                        if (groups[i] != null) {
+                            map.put(constants[i], finisher.apply((A) groups[i]));
+                        }
+                    }
+                    return map;
+                });
+    }
+}
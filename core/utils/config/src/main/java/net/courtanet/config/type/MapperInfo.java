@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the footprint and usage of a registered {@link Mapper}.
+ *
+ * @see MapperRegistry
+ */
+public final class MapperInfo {
+
+    private final String name;
+
+    private final String inType;
+
+    private final String outType;
+
+    private final String tableKind;
+
+    private final int size;
+
+    private final long estimatedBytes;
+
+    private final long buildTimeNanos;
+
+    private final long callCount;
+
+    MapperInfo(String name, Mapper<?, ?> mapper) {
+        this.name = name;
+        this.inType = mapper.getInType().getName();
+        this.outType = mapper.getOutType().getName();
+        this.tableKind = mapper.getTable().kind();
+        this.size = mapper.getTable().size();
+        this.estimatedBytes = mapper.getTable().estimatedBytes();
+        this.buildTimeNanos = mapper.getBuildNanos();
+        this.callCount = mapper.getCallCount();
+    }
+
+    /**
+     * @return registered name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return input type class name
+     */
+    public String getInType() {
+        return inType;
+    }
+
+    /**
+     * @return output type class name
+     */
+    public String getOutType() {
+        return outType;
+    }
+
+    /**
+     * @return kind of the static mappings table
+     */
+    public String getTableKind() {
+        return tableKind;
+    }
+
+    /**
+     * @return number of static mappings
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return estimated bytes retained by the static mappings table
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return nanoseconds elapsed building the mapper
+     */
+    public long getBuildTimeNanos() {
+        return buildTimeNanos;
+    }
+
+    /**
+     * @return number of mapped values, {@code -1} when metrics are not enabled
+     */
+    public long getCallCount() {
+        return callCount;
+    }
+
+    @Override
+    public String toString() {
+        return name +
+                " " + inType + " -> " + outType +
+                " table=" + tableKind +
+                ", size=" + size +
+                ", bytes=" + estimatedBytes +
+                ", buildTime=" + TimeUnit.NANOSECONDS.toMicros(buildTimeNanos) + "us" +
+                ", calls=" + (callCount < 0 ? "n/a" : String.valueOf(callCount));
+    }
+}
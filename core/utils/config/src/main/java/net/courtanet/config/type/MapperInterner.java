@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Weak canonical cache of constant-only {@link Mapper}s, as built with {@link Mapper.MapperBuilder#interned()}.
+ * Mappers are structurally identical when they have the same types, and map the same values, null and
+ * default values to equal constants or to the same unsupported mapping. A canonical mapper holds its key
+ * strongly, so that its cache entry lives as long as the mapper itself.
+ */
+final class MapperInterner {
+
+    private static final Map<Key, WeakReference<Mapper<?, ?>>> CANONICAL =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private MapperInterner() {
+    }
+
+    /**
+     * @param mapper built mapper
+     * @param <I>    input type
+     * @param <O>    output type
+     * @return canonical mapper structurally identical to the given one, the given mapper itself when it is the
+     * first of its kind or when it is not constant-only.
+     */
+    @SuppressWarnings("unchecked")
+    static <I, O> Mapper<I, O> intern(Mapper<I, O> mapper) {
+        final Key key = Key.of(mapper);
+        if (key == null) {
+            return mapper;
+        }
+        synchronized (CANONICAL) {
+            final WeakReference<Mapper<?, ?>> reference = CANONICAL.get(key);
+            final Mapper<?, ?> canonical = reference == null ? null : reference.get();
+            if (canonical != null) {
+                return (Mapper<I, O>) canonical;
+            }
+            mapper.setInternKey(key);
+            CANONICAL.put(key, new WeakReference<>(mapper));
+            return mapper;
+        }
+    }
+
+    /**
+     * @return number of canonical mappers still reachable
+     */
+    static int size() {
+        return CANONICAL.size();
+    }
+
+    /**
+     * Structural key of a constant-only mapper.
+     */
+    static final class Key {
+
+        private final Class<?> inType;
+
+        private final Class<?> outType;
+
+        private final Map<Object, Object> mappings;
+
+        private final Object nullMapping;
+
+        private final Object defaultMapping;
+
+        private final int hash;
+
+        private Key(Class<?> inType, Class<?> outType, Map<Object, Object> mappings, Object nullMapping,
+                Object defaultMapping) {
+            this.inType = inType;
+            this.outType = outType;
+            this.mappings = mappings;
+            this.nullMapping = nullMapping;
+            this.defaultMapping = defaultMapping;
+            this.hash = Objects.hash(inType, outType, mappings, nullMapping, defaultMapping);
+        }
+
+        /**
+         * @return structural key, {@code null} when a mapping is not a constant nor an unsupported mapping
+         */
+        static Key of(Mapper<?, ?> mapper) {
+            final Map<Object, Object> mappings = new HashMap<>();
+            for (Map.Entry<?, ? extends Function<?, ?>> mapping : mapper.getMappings().entrySet()) {
+                final Object token = token(mapping.getValue());
+                if (token == null) {
+                    return null;
+                }
+                mappings.put(mapping.getKey(), token);
+            }
+            final Object nullMapping = token(mapper.getNullMapping());
+            final Object defaultMapping = token(mapper.getDefaultMapping());
+            if ((mapper.getNullMapping() != null && nullMapping == null)
+                    || (mapper.getDefaultMapping() != null && defaultMapping == null)) {
+                return null;
+            }
+            return new Key(mapper.getInType(), mapper.getOutType(), mappings, nullMapping, defaultMapping);
+        }
+
+        private static Object token(Object function) {
+            if (function instanceof Mapper.Constant) {
+                return Collections.singletonList(((Mapper.Constant<?, ?>) function).getValue());
+            } else if (function instanceof Mapper.Unsupported) {
+                return ((Mapper.Unsupported<?, ?>) function).getExceptionMessage();
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return hash == key.hash
+                    && inType.equals(key.inType)
+                    && outType.equals(key.outType)
+                    && mappings.equals(key.mappings)
+                    && Objects.equals(nullMapping, key.nullMapping)
+                    && Objects.equals(defaultMapping, key.defaultMapping);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
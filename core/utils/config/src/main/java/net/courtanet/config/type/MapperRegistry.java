@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of named {@link Mapper}s, reporting their table kind and size, estimated footprint, build time and,
+ * when enabled with {@link Mapper.MapperBuilder#withMetrics()}, call counts.
+ * Mappers are weakly referenced, the registry does not keep them alive.
+ */
+public final class MapperRegistry {
+
+    /**
+     * Name of the MBean registered by {@link #registerMBean()}.
+     */
+    public static final String OBJECT_NAME = "net.courtanet.config.type:type=MapperRegistry";
+
+    private static final Map<Mapper<?, ?>, Set<String>> MAPPERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private MapperRegistry() {
+    }
+
+    /**
+     * Register a mapper under a name, in addition to its other names when it is already registered: an interned
+     * mapper shared by several fields is reported under each of their names.
+     *
+     * @param name   name of the mapper in reports
+     * @param mapper mapper to register
+     * @param <I>    input type
+     * @param <O>    output type
+     * @return registered mapper
+     */
+    public static <I, O> Mapper<I, O> register(String name, Mapper<I, O> mapper) {
+        Objects.requireNonNull(name, "Mapper name is null.");
+        Objects.requireNonNull(mapper, "Mapper is null.");
+        synchronized (MAPPERS) {
+            MAPPERS.computeIfAbsent(mapper, key -> new TreeSet<>()).add(name);
+        }
+        return mapper;
+    }
+
+    /**
+     * Register the mappers held by static fields of the given class, named after their defining field.
+     *
+     * @param clazz class declaring mapper fields
+     * @throws IllegalStateException when a field can not be read.
+     */
+    public static void registerFields(Class<?> clazz) {
+        fields(clazz).forEach(MapperRegistry::register);
+    }
+
+    /**
+     * @param clazz class declaring mapper fields
+     * @return non-null mappers held by static fields of the given class, by class simple name and field name
+     * @throws IllegalStateException when a field can not be read.
+     */
+    static Map<String, Mapper<?, ?>> fields(Class<?> clazz) {
+        final Map<String, Mapper<?, ?>> mappers = new LinkedHashMap<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || !Mapper.class.isAssignableFrom(field.getType())) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                final Mapper<?, ?> mapper = (Mapper<?, ?>) field.get(null);
+                if (mapper != null) {
+                    mappers.put(clazz.getSimpleName() + "." + field.getName(), mapper);
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalStateException("Unable to read mapper field " + clazz.getName() + "."
+                        + field.getName(), e);
+            }
+        }
+        return mappers;
+    }
+
+    /**
+     * @return registered mappers still reachable
+     */
+    static List<Mapper<?, ?>> mappers() {
+        synchronized (MAPPERS) {
+            return new ArrayList<>(MAPPERS.keySet());
+        }
+    }
+
+    /**
+     * @param mapper mapper to remove from the registry, under all its names
+     */
+    public static void unregister(Mapper<?, ?> mapper) {
+        MAPPERS.remove(mapper);
+    }
+
+    /**
+     * @return snapshot of registered mappers still reachable, one by name, sorted by name
+     */
+    public static List<MapperInfo> getMappers() {
+        final List<MapperInfo> infos = new ArrayList<>();
+        synchronized (MAPPERS) {
+            MAPPERS.forEach((mapper, names) -> names.forEach(name -> infos.add(new MapperInfo(name, mapper))));
+        }
+        infos.sort(Comparator.comparing(MapperInfo::getName));
+        return infos;
+    }
+
+    /**
+     * @return textual report of registered mappers, one line by name, the footprint of a mapper registered under
+     * several names being counted once in the total
+     */
+    public static String report() {
+        final List<MapperInfo> infos = getMappers();
+        final long bytes;
+        synchronized (MAPPERS) {
+            bytes = MAPPERS.keySet().stream().mapToLong(mapper -> mapper.getTable().estimatedBytes()).sum();
+        }
+        return infos.stream()
+                .map(info -> "  " + info)
+                .collect(Collectors.joining("\n", "MapperRegistry[" + infos.size() + " mappers, " + bytes
+                        + " bytes]\n", ""));
+    }
+
+    /**
+     * Register the registry in the platform MBean server under {@link #OBJECT_NAME}, when not already registered.
+     *
+     * @throws IllegalStateException when the MBean can not be registered.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new RegistryBean(), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register " + OBJECT_NAME, e);
+        }
+    }
+
+    private static final class RegistryBean implements MapperRegistryMXBean {
+
+        @Override
+        public int getMapperCount() {
+            return MAPPERS.size();
+        }
+
+        @Override
+        public List<MapperInfo> getMappers() {
+            return MapperRegistry.getMappers();
+        }
+
+        @Override
+        public String getReport() {
+            return report();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link MapperRegistry}.
+ */
+public interface MapperRegistryMXBean {
+
+    /**
+     * @return number of registered mappers still reachable
+     */
+    int getMapperCount();
+
+    /**
+     * @return registered mappers, sorted by name
+     */
+    List<MapperInfo> getMappers();
+
+    /**
+     * @return textual report of registered mappers
+     */
+    String getReport();
+}
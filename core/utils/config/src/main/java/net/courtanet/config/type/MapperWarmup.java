@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background warm-up of {@link Mapper}s before serving traffic: classes holding mappers are initialized, building
+ * their mappers in parallel, then every mapper is exercised over its static mappings, null mapping and default
+ * mapping until the mapping code has been compiled by the JIT.
+ * Readiness is signalled by the future returned by {@link #start()}.
+ * <p>
+ * Default mappings are exercised only when they are a constant or not supported, with unmapped enum constants or
+ * with an unmapped probe value; other default functions, such as batch or cached functions, are never called with
+ * values not given by the application. Mapping functions throwing an exception other than an
+ * {@link IllegalArgumentException} stop the warm-up of their mapper only, and are logged.
+ * Warm-up calls are removed from the call counts of mappers built with {@link Mapper.MapperBuilder#withMetrics()}
+ * once the warm-up of each mapper is complete.
+ * Mappers built with {@link Mapper.MapperBuilder#adaptive()} are skipped until specialized, so that they sample
+ * application values only.
+ */
+public final class MapperWarmup {
+
+    /**
+     * Default number of passes over the inputs of a mapper, above the invocation count triggering JIT compilation
+     * of the mapping code.
+     */
+    public static final int DEFAULT_ITERATIONS = 20_000;
+
+    private static final Logger LOGGER = Logger.getLogger(MapperWarmup.class.getName());
+
+    private static final Object PROBE = new Object();
+
+    private final Executor executor;
+
+    private final List<Mapper<?, ?>> mappers = new ArrayList<>();
+
+    private final List<Class<?>> classes = new ArrayList<>();
+
+    private final List<String> classNames = new ArrayList<>();
+
+    private int iterations = DEFAULT_ITERATIONS;
+
+    private CompletableFuture<Void> ready;
+
+    /**
+     * Warm-up on a pool of daemon threads, shut down once warm-up completes.
+     */
+    public MapperWarmup() {
+        this.executor = null;
+    }
+
+    /**
+     * @param executor executor running warm-up tasks, one task by class and by mapper
+     */
+    public MapperWarmup(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "Executor is null.");
+    }
+
+    /**
+     * @param mapper mapper to warm up
+     * @return this warm-up
+     */
+    public MapperWarmup add(Mapper<?, ?> mapper) {
+        mappers.add(Objects.requireNonNull(mapper, "Mapper is null."));
+        return this;
+    }
+
+    /**
+     * @return this warm-up, with the mappers currently registered in {@link MapperRegistry}
+     */
+    public MapperWarmup addRegistered() {
+        mappers.addAll(MapperRegistry.mappers());
+        return this;
+    }
+
+    /**
+     * @param clazz class declaring static mapper fields to warm up
+     * @return this warm-up
+     */
+    public MapperWarmup addFields(Class<?> clazz) {
+        classes.add(Objects.requireNonNull(clazz, "Class is null."));
+        return this;
+    }
+
+    /**
+     * @param classNames names of classes declaring static mapper fields to warm up, loaded and initialized by
+     *                   warm-up tasks with the context class loader of the calling thread
+     * @return this warm-up
+     */
+    public MapperWarmup addClasses(String... classNames) {
+        this.classNames.addAll(Arrays.asList(classNames));
+        return this;
+    }
+
+    /**
+     * @param iterations number of passes over the inputs of each mapper
+     * @return this warm-up
+     * @throws IllegalArgumentException when iterations is negative.
+     */
+    public MapperWarmup iterations(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Negative iterations " + iterations + ".");
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Start warm-up tasks, once.
+     *
+     * @return future completed when every mapper is warm, completed exceptionally when a class can not be loaded
+     * or a mapper field can not be read
+     */
+    public synchronized CompletableFuture<Void> start() {
+        if (ready != null) {
+            return ready;
+        }
+        final ExecutorService pool = executor == null ? newPool() : null;
+        final Executor tasks = executor == null ? pool : executor;
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final int passes = iterations;
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Mapper<?, ?> mapper : mappers) {
+            futures.add(CompletableFuture.runAsync(() -> warmUp(mapper, passes), tasks));
+        }
+        for (Class<?> clazz : classes) {
+            futures.add(CompletableFuture.runAsync(() -> warmUpFields(clazz, passes), tasks));
+        }
+        for (String className : classNames) {
+            futures.add(CompletableFuture.runAsync(() -> warmUpFields(load(className, loader), passes), tasks));
+        }
+        ready = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+        if (pool != null) {
+            ready.whenComplete((result, error) -> pool.shutdown());
+        }
+        return ready;
+    }
+
+    /**
+     * @return future returned by {@link #start()}
+     * @throws IllegalStateException when warm-up is not started.
+     */
+    public synchronized CompletableFuture<Void> getReady() {
+        if (ready == null) {
+            throw new IllegalStateException("Warm-up not started.");
+        }
+        return ready;
+    }
+
+    private static ExecutorService newPool() {
+        final int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "mapper-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Class<?> load(String className, ClassLoader loader) {
+        try {
+            return Class.forName(className, true, loader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to load mapper class " + className, e);
+        }
+    }
+
+    private static void warmUpFields(Class<?> clazz, int iterations) {
+        for (Mapper<?, ?> mapper : MapperRegistry.fields(clazz).values()) {
+            warmUp(mapper, iterations);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <I, O> void warmUp(Mapper<I, O> mapper, int iterations) {
+        final MappingTable<I, O> table = mapper.getTable();
+        if (table instanceof AdaptiveTable && !((AdaptiveTable<I, O>) table).isSpecialized()) {
+            return;
+        }
+        final List<Object> inputs = new ArrayList<>(mapper.getMappings().keySet());
+        final Function<I, O> defaultMapping = mapper.getDefaultMapping();
+        if (defaultMapping instanceof Mapper.Constant || defaultMapping instanceof Mapper.Unsupported) {
+            if (mapper.getInType().isEnum()) {
+                for (I constant : mapper.getInType().getEnumConstants()) {
+                    if (!mapper.getMappings().containsKey(constant)) {
+                        inputs.add(constant);
+                    }
+                }
+            } else {
+                inputs.add(PROBE);
+            }
+        }
+        final Supplier<O> nullMapping = mapper.getNullMapping();
+        if (nullMapping != null) {
+            inputs.add(null);
+        }
+        long calls = 0L;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                for (Object input : inputs) {
+                    calls++;
+                    try {
+                        mapper.map((I) input);
+                    } catch (IllegalArgumentException e) {
+                        // unsupported values are part of the warm-up
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Warm-up of mapper " + mapper.getInType().getName() + " -> "
+                    + mapper.getOutType().getName() + " stopped", e);
+        } finally {
+            mapper.discountCalls(calls);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator mapping the values of a source spliterator with a {@link Mapper}.
+ * Splitting and sizing characteristics of the source are kept, so that parallel streams split as evenly as the
+ * source; characteristics about values are dropped since mapped values may be equal, unordered or {@code null}.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+final class MappingSpliterator<I, O> implements Spliterator<O> {
+
+    private static final int DROPPED = DISTINCT | SORTED | NONNULL | IMMUTABLE;
+
+    private final Spliterator<? extends I> source;
+
+    private final Mapper<I, O> mapper;
+
+    MappingSpliterator(Spliterator<? extends I> source, Mapper<I, O> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super O> action) {
+        return source.tryAdvance(in -> action.accept(mapper.map(in)));
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super O> action) {
+        source.forEachRemaining(in -> action.accept(mapper.map(in)));
+    }
+
+    @Override
+    public Spliterator<O> trySplit() {
+        final Spliterator<? extends I> prefix = source.trySplit();
+        return prefix == null ? null : new MappingSpliterator<>(prefix, mapper);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return source.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ~DROPPED;
+    }
+
+    @Override
+    public Comparator<? super O> getComparator() {
+        throw new IllegalStateException();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable table of the static mappings of a {@link Mapper}.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+interface MappingTable<I, O> {
+
+    /**
+     * Create the table best suited to the input type: enum and string mappings are kept in their map, other
+     * mappings are frozen into an {@link OpenAddressingTable}.
+     *
+     * @param inType   input type class
+     * @param mappings static mappings
+     * @param <I>      input type
+     * @param <O>      output type
+     * @return immutable table
+     */
+    static <I, O> MappingTable<I, O> of(Class<I> inType, Map<I, Function<I, O>> mappings) {
+        if (inType.isEnum() || String.class.equals(inType)) {
+            return new MapTable<>(inType, mappings);
+        }
+        return new OpenAddressingTable<>(mappings);
+    }
+
+    /**
+     * @param in input value
+     * @return function mapping the input value, {@code null} when the value has no static mapping
+     */
+    Function<I, O> get(Object in);
+
+    /**
+     * @return number of static mappings
+     */
+    int size();
+
+    /**
+     * @return immutable map of mappings
+     */
+    Map<I, Function<I, O>> asMap();
+
+    /**
+     * @return kind of table, for reports
+     */
+    String kind();
+
+    /**
+     * Estimate the bytes retained by the table structure, assuming compressed references.
+     * Keys and mapping functions are shared with the caller and are not counted.
+     *
+     * @return estimated retained bytes
+     */
+    long estimatedBytes();
+
+    /**
+     * @param length array length
+     * @return estimated bytes of an array of references
+     */
+    static long arrayBytes(int length) {
+        return (16L + 4L * length + 7L) & ~7L;
+    }
+
+    /**
+     * Table backed by a map.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    final class MapTable<I, O> implements MappingTable<I, O> {
+
+        private final Class<I> inType;
+
+        private final Map<I, Function<I, O>> mappings;
+
+        MapTable(Class<I> inType, Map<I, Function<I, O>> mappings) {
+            this.inType = inType;
+            this.mappings = Collections.unmodifiableMap(mappings);
+        }
+
+        @Override
+        public Function<I, O> get(Object in) {
+            return mappings.get(in);
+        }
+
+        @Override
+        public int size() {
+            return mappings.size();
+        }
+
+        @Override
+        public Map<I, Function<I, O>> asMap() {
+            return mappings;
+        }
+
+        @Override
+        public String kind() {
+            return inType.isEnum() ? "enum" : "hash";
+        }
+
+        @Override
+        public long estimatedBytes() {
+            if (inType.isEnum()) {
+                // map, values array, unmodifiable wrapper
+                return 40L + arrayBytes(inType.getEnumConstants().length) + 24L;
+            }
+            int capacity = 16;
+            while (capacity * 3 < size() * 4) {
+                capacity <<= 1;
+            }
+            // map, buckets array, one node by mapping, unmodifiable wrapper
+            return 48L + arrayBytes(capacity) + 32L * size() + 24L;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Immutable one-to-many mapper, as created with {@link Mapper#multiValue(Class, Class)}.
+ * Output values of all mappings are stored once in a single flat array; each distinct list of output values is an
+ * immutable view over a range of the array, created at build time and shared by all inputs mapped to it, so
+ * mapping does not allocate. For enum output types, each view also holds an immutable {@link EnumSet}.
+ * Inputs are resolved with a {@link Mapper}, with the same lookup, null and unsupported value handling.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+public final class MultiValueMapper<I, O> {
+
+    private final Class<I> inType;
+
+    private final Class<O> outType;
+
+    private final O[] values;
+
+    private final Mapper<I, Values<O>> mapper;
+
+    private MultiValueMapper(Class<I> inType, Class<O> outType, O[] values, Mapper<I, Values<O>> mapper) {
+        this.inType = inType;
+        this.outType = outType;
+        this.values = values;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return input type class
+     */
+    public Class<I> getInType() {
+        return inType;
+    }
+
+    /**
+     * @return output type class
+     */
+    public Class<O> getOutType() {
+        return outType;
+    }
+
+    /**
+     * @param input input value
+     * @return immutable list of output values, in definition order, shared by every call
+     * @throws IllegalArgumentException if mapping is not defined.
+     */
+    public List<O> map(I input) {
+        return mapper.map(input);
+    }
+
+    /**
+     * @param input input value
+     * @return immutable set of output values, shared by every call for enum output types, created on each call
+     * for other output types
+     * @throws IllegalArgumentException if mapping is not defined.
+     */
+    public Set<O> mapToSet(I input) {
+        final Values<O> outputs = mapper.map(input);
+        return outputs.set != null ? outputs.set : Collections.unmodifiableSet(new LinkedHashSet<>(outputs));
+    }
+
+    /**
+     * Perform the given action on each output value of the input value, in definition order, without creating
+     * any view.
+     *
+     * @param input  input value
+     * @param action action to perform on output values
+     * @throws IllegalArgumentException if mapping is not defined.
+     */
+    public void forEachMapped(I input, Consumer<? super O> action) {
+        final Values<O> outputs = mapper.map(input);
+        for (int i = outputs.offset, end = outputs.offset + outputs.length; i < end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * @return number of output values stored in the flat array, equal output lists being stored once
+     */
+    public int getValueCount() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        return "MultiValueMapper{" + inType.getSimpleName() + " -> " + outType.getSimpleName() + "[], "
+                + mapper.getMappings().size() + " mappings, " + values.length + " values}";
+    }
+
+    /**
+     * Immutable view over a range of the flat array of output values.
+     *
+     * @param <O> output type
+     */
+    static final class Values<O> extends AbstractList<O> implements RandomAccess {
+
+        private final O[] values;
+
+        private final int offset;
+
+        private final int length;
+
+        private final Set<O> set;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Values(O[] values, int offset, int length, Class<O> outType) {
+            this.values = values;
+            this.offset = offset;
+            this.length = length;
+            if (outType.isEnum()) {
+                final Set<O> enumSet = EnumSet.noneOf((Class) outType);
+                enumSet.addAll(this);
+                this.set = Collections.unmodifiableSet(enumSet);
+            } else {
+                this.set = null;
+            }
+        }
+
+        @Override
+        public O get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+            return values[offset + index];
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+
+    /**
+     * Builder of {@link MultiValueMapper}.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    public static final class MultiValueMapperBuilder<I, O> {
+
+        private final Class<I> inType;
+        private final Class<O> outType;
+        private final Map<I, List<O>> mappings = new LinkedHashMap<>();
+        private boolean nullDefined = false;
+        private List<O> nullOutputs = null;
+        private boolean defaultDefined = false;
+        private List<O> defaultOutputs = null;
+
+        MultiValueMapperBuilder(Class<I> inType, Class<O> outType) {
+            this.inType = Objects.requireNonNull(inType, "In type is null.");
+            this.outType = Objects.requireNonNull(outType, "Out type is null.");
+        }
+
+        /**
+         * Build the immutable MultiValueMapper.
+         *
+         * @return built immutable MultiValueMapper
+         * @throws IllegalStateException when mapper configuration is incomplete.
+         */
+        @SuppressWarnings("unchecked")
+        public MultiValueMapper<I, O> build() {
+            final Map<List<O>, Integer> offsets = new HashMap<>();
+            final List<O> flat = new ArrayList<>();
+            final List<List<O>> outputs = new ArrayList<>(mappings.values());
+            outputs.add(nullOutputs);
+            outputs.add(defaultOutputs);
+            for (List<O> out : outputs) {
+                if (out != null && !offsets.containsKey(out)) {
+                    offsets.put(out, flat.size());
+                    flat.addAll(out);
+                }
+            }
+            final O[] values = flat.toArray((O[]) Array.newInstance(outType, flat.size()));
+            final Map<List<O>, Values<O>> views = new HashMap<>();
+            offsets.forEach((out, offset) -> views.put(out, new Values<>(values, offset, out.size(), outType)));
+
+            final Mapper.MapperBuilder<I, Values<O>> builder = Mapper.builder(inType,
+                    (Class<Values<O>>) (Class<?>) Values.class);
+            mappings.forEach((in, out) -> {
+                if (out != null) {
+                    builder.map(in).to(views.get(out));
+                } else {
+                    builder.map(in).withIllegalArgumentException();
+                }
+            });
+            if (nullDefined && nullOutputs != null) {
+                builder.mapNull().to(views.get(nullOutputs));
+            } else if (nullDefined) {
+                builder.mapNull().withIllegalArgumentException();
+            }
+            if (defaultOutputs != null) {
+                builder.withDefault(views.get(defaultOutputs));
+            } else if (defaultDefined) {
+                builder.withDefault(Mapper.Unsupported.value());
+            }
+            return new MultiValueMapper<>(inType, outType, values, builder.build());
+        }
+
+        /**
+         * Start defining a static mapping for the given non {@code null} values.
+         *
+         * @param in in values
+         * @return mapping to complete
+         * @throws NullPointerException when in value is {@code null}.
+         */
+        @SafeVarargs
+        @SuppressWarnings("varargs")
+        public final MultiValueMapping<I, O> map(I... in) {
+            Objects.requireNonNull(in, "Array of values is null. Use mapNull method for mapping null value");
+            for (I value : in) {
+                Objects.requireNonNull(value, "Use mapNull method for mapping null value.");
+            }
+            return new MultiValueMapping<>(this, Arrays.asList(in), false);
+        }
+
+        /**
+         * Start defining the mapping for the null value.
+         *
+         * @return mapping to complete
+         */
+        public MultiValueMapping<I, O> mapNull() {
+            return new MultiValueMapping<>(this, Collections.emptyList(), true);
+        }
+
+        /**
+         * Map values without static mapping to the given values.
+         *
+         * @param out out values
+         * @return multi value mapper builder to build.
+         */
+        @SafeVarargs
+        @SuppressWarnings("varargs")
+        public final MultiValueMapperBuilder<I, O> unmappedToAll(O... out) {
+            this.defaultDefined = true;
+            this.defaultOutputs = outputs(out);
+            return this;
+        }
+
+        /**
+         * Throw an {@link IllegalArgumentException} when mapping values without static mapping.
+         *
+         * @return multi value mapper builder to build.
+         */
+        public MultiValueMapperBuilder<I, O> unmappedWithIllegalArgumentException() {
+            this.defaultDefined = true;
+            this.defaultOutputs = null;
+            return this;
+        }
+
+        private static <O> List<O> outputs(O[] out) {
+            Objects.requireNonNull(out, "Array of out values is null.");
+            return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(out)));
+        }
+    }
+
+    /**
+     * Mapping of input values, or of the null value, to several output values.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    public static final class MultiValueMapping<I, O> {
+
+        private final MultiValueMapperBuilder<I, O> builder;
+
+        private final List<I> in;
+
+        private final boolean nullValue;
+
+        private MultiValueMapping(MultiValueMapperBuilder<I, O> builder, List<I> in, boolean nullValue) {
+            this.builder = builder;
+            this.in = in;
+            this.nullValue = nullValue;
+        }
+
+        /**
+         * Complete the mapping definition with the given values.
+         *
+         * @param out values to return for this mapping, in order.
+         * @return multi value mapper builder to build.
+         */
+        @SafeVarargs
+        @SuppressWarnings("varargs")
+        public final MultiValueMapperBuilder<I, O> toAll(O... out) {
+            return with(MultiValueMapperBuilder.outputs(out));
+        }
+
+        /**
+         * Complete the mapping definition with the given values.
+         *
+         * @param out values to return for this mapping, in iteration order.
+         * @return multi value mapper builder to build.
+         */
+        public MultiValueMapperBuilder<I, O> toAll(Collection<? extends O> out) {
+            Objects.requireNonNull(out, "Out values are null.");
+            return with(Collections.unmodifiableList(new ArrayList<>(out)));
+        }
+
+        /**
+         * Complete the mapping definition with no value.
+         *
+         * @return multi value mapper builder to build.
+         */
+        public MultiValueMapperBuilder<I, O> toNone() {
+            return with(Collections.emptyList());
+        }
+
+        /**
+         * Complete the mapping definition to throw an {@link IllegalArgumentException} as result of mapping.
+         *
+         * @return multi value mapper builder to build.
+         */
+        public MultiValueMapperBuilder<I, O> withIllegalArgumentException() {
+            return with(null);
+        }
+
+        private MultiValueMapperBuilder<I, O> with(List<O> out) {
+            if (nullValue) {
+                builder.nullDefined = true;
+                builder.nullOutputs = out;
+            } else {
+                for (I value : in) {
+                    builder.mappings.put(value, out);
+                }
+            }
+            return builder;
+        }
+    }
+}
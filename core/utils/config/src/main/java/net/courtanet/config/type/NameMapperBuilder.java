@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builder of enum mapper mapping each input constant to the output constant with the same name, as created with
+ * {@link Mapper#byName(Class, Class)}.
+ * Names are resolved once at build time into an ordinal translation table: mapping does not use
+ * {@link Enum#name()} nor {@code valueOf}. Building fails when an input name has no output constant, unless it is
+ * overridden with {@link #except(Enum)} or an unmatched policy is defined.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+public final class NameMapperBuilder<I extends Enum<I>, O extends Enum<O>> {
+
+    private final Class<I> inType;
+    private final Class<O> outType;
+    private final Mapper.MapperBuilder<I, O> builder;
+    private final Set<I> overridden;
+    private boolean unmatchedSupported = false;
+    private boolean unmatchedUnsupported = false;
+    private O unmatchedValue = null;
+
+    NameMapperBuilder(Class<I> inType, Class<O> outType) {
+        this.inType = Objects.requireNonNull(inType, "In type is null.");
+        this.outType = Objects.requireNonNull(outType, "Out type is null.");
+        this.builder = Mapper.builder(inType, outType);
+        this.overridden = EnumSet.noneOf(inType);
+    }
+
+    /**
+     * Build the immutable Mapper.
+     *
+     * @return built immutable Mapper
+     * @throws IllegalStateException when an input name has no output constant, without override nor unmatched
+     *                               policy.
+     */
+    public Mapper<I, O> build() {
+        final Map<String, O> outByName = new HashMap<>();
+        for (O out : outType.getEnumConstants()) {
+            outByName.put(out.name(), out);
+        }
+        final List<I> unmatched = new ArrayList<>();
+        for (I in : inType.getEnumConstants()) {
+            if (overridden.contains(in)) {
+                continue;
+            }
+            final O out = outByName.get(in.name());
+            if (out != null) {
+                builder.map(in).to(out);
+            } else if (unmatchedSupported) {
+                builder.map(in).to(unmatchedValue);
+            } else if (unmatchedUnsupported) {
+                builder.map(in).withIllegalArgumentException();
+            } else {
+                unmatched.add(in);
+            }
+        }
+        if (!unmatched.isEmpty()) {
+            throw new IllegalStateException("Mapper configuration incomplete. No " + outType.getSimpleName()
+                    + " constant named " + unmatched.stream().map(Enum::name).collect(Collectors.joining(", "))
+                    + ". Specify overrides with except or an unmatched policy.");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Start overriding the mapping of the given input constants.
+     *
+     * @param in input constants
+     * @return override to complete
+     * @throws NullPointerException when in value is {@code null}.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final NameOverride<I, O> except(I... in) {
+        Objects.requireNonNull(in, "Array of values is null. Use mapNull method for mapping null value");
+        return new NameOverride<>(in, this);
+    }
+
+    /**
+     * Map input constants without output constant of the same name to the given value.
+     *
+     * @param out out value
+     * @return name mapper builder to build.
+     */
+    public NameMapperBuilder<I, O> unmatchedTo(O out) {
+        this.unmatchedSupported = true;
+        this.unmatchedUnsupported = false;
+        this.unmatchedValue = out;
+        return this;
+    }
+
+    /**
+     * Throw an {@link IllegalArgumentException} when mapping input constants without output constant of the same
+     * name.
+     *
+     * @return name mapper builder to build.
+     */
+    public NameMapperBuilder<I, O> unmatchedWithIllegalArgumentException() {
+        this.unmatchedSupported = false;
+        this.unmatchedUnsupported = true;
+        return this;
+    }
+
+    /**
+     * Start defining the mapping for the null value.
+     *
+     * @return mapping to complete
+     */
+    public NullNameMapping<I, O> mapNull() {
+        return new NullNameMapping<>(this);
+    }
+
+    /**
+     * Override of the mapping of input constants.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    public static final class NameOverride<I extends Enum<I>, O extends Enum<O>> {
+
+        private final I[] in;
+
+        private final NameMapperBuilder<I, O> nameBuilder;
+
+        private NameOverride(I[] in, NameMapperBuilder<I, O> nameBuilder) {
+            this.in = in;
+            this.nameBuilder = nameBuilder;
+        }
+
+        /**
+         * Complete the override with the given value.
+         *
+         * @param out value to return for the overridden constants.
+         * @return name mapper builder to build.
+         */
+        public NameMapperBuilder<I, O> to(O out) {
+            nameBuilder.builder.map(in).to(out);
+            nameBuilder.overridden.addAll(Arrays.asList(in));
+            return nameBuilder;
+        }
+
+        /**
+         * Complete the override to throw an {@link IllegalArgumentException} as result of mapping.
+         *
+         * @return name mapper builder to build.
+         */
+        public NameMapperBuilder<I, O> withIllegalArgumentException() {
+            nameBuilder.builder.map(in).withIllegalArgumentException();
+            nameBuilder.overridden.addAll(Arrays.asList(in));
+            return nameBuilder;
+        }
+    }
+
+    /**
+     * Mapping of the null value.
+     *
+     * @param <I> input type
+     * @param <O> output type
+     */
+    public static final class NullNameMapping<I extends Enum<I>, O extends Enum<O>> {
+
+        private final NameMapperBuilder<I, O> nameBuilder;
+
+        private NullNameMapping(NameMapperBuilder<I, O> nameBuilder) {
+            this.nameBuilder = nameBuilder;
+        }
+
+        /**
+         * Complete null mapping with given out value.
+         *
+         * @param out out value
+         * @return name mapper builder to build.
+         */
+        public NameMapperBuilder<I, O> to(O out) {
+            nameBuilder.builder.mapNull().to(out);
+            return nameBuilder;
+        }
+
+        /**
+         * Complete null mapping to throw an {@link IllegalArgumentException} as result of mapping.
+         *
+         * @return name mapper builder to build.
+         */
+        public NameMapperBuilder<I, O> withIllegalArgumentException() {
+            nameBuilder.builder.mapNull().withIllegalArgumentException();
+            return nameBuilder;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Table storing mappings in parallel key and function arrays, probed linearly from the key hash.
+ * The table is kept at most half full so that lookups rarely probe more than one slot, and mappings to the same
+ * constant value instance share a single function; equal but distinct values, possibly mutable, are not pooled.
+ * The map view of mappings is created on first use.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+final class OpenAddressingTable<I, O> implements MappingTable<I, O> {
+
+    private final Object[] keys;
+
+    private final Function<I, O>[] functions;
+
+    private final int mask;
+
+    private final int size;
+
+    private Map<I, Function<I, O>> view;
+
+    @SuppressWarnings("unchecked")
+    OpenAddressingTable(Map<I, Function<I, O>> mappings) {
+        this.size = mappings.size();
+        int capacity = 2;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new Object[capacity];
+        this.functions = (Function<I, O>[]) new Function<?, ?>[capacity];
+        this.mask = capacity - 1;
+        final Map<Object, Function<I, O>> constants = new IdentityHashMap<>();
+        mappings.forEach((in, function) -> {
+            Function<I, O> shared = function;
+            if (function instanceof Mapper.Constant) {
+                shared = constants.computeIfAbsent(((Mapper.Constant<I, O>) function).getValue(), value -> function);
+            }
+            int i = indexOf(in);
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = in;
+            functions[i] = shared;
+        });
+    }
+
+    private int indexOf(Object in) {
+        final int h = in.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public Function<I, O> get(Object in) {
+        if (in == null) {
+            return null;
+        }
+        int i = indexOf(in);
+        Object key;
+        while ((key = keys[i]) != null) {
+            if (key == in || key.equals(in)) {
+                return functions[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String kind() {
+        return "open-addressing";
+    }
+
+    @Override
+    public long estimatedBytes() {
+        // table, keys array, functions array
+        return 32L + 2L * MappingTable.arrayBytes(keys.length);
+    }
+
+    @Override
+    public Map<I, Function<I, O>> asMap() {
+        Map<I, Function<I, O>> map = view;
+        if (map == null) {
+            map = new View();
+            view = map;
+        }
+        return map;
+    }
+
+    /**
+     * Immutable map view of the table.
+     */
+    private final class View extends AbstractMap<I, Function<I, O>> {
+
+        @Override
+        public Function<I, O> get(Object key) {
+            return OpenAddressingTable.this.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return OpenAddressingTable.this.get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<I, Function<I, O>>> entrySet() {
+            return new AbstractSet<Entry<I, Function<I, O>>>() {
+                @Override
+                public Iterator<Entry<I, Function<I, O>>> iterator() {
+                    return new Iterator<Entry<I, Function<I, O>>>() {
+
+                        private int next = advance(0);
+
+                        private int advance(int from) {
+                            int i = from;
+                            while (i < keys.length && keys[i] == null) {
+                                i++;
+                            }
+                            return i;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Entry<I, Function<I, O>> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<I, Function<I, O>> entry =
+                                    new SimpleImmutableEntry<>((I) keys[next], functions[next]);
+                            next = advance(next + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Table of a derived mapper: a small table of overridden mappings, looked up first, over the shared table of the
+ * base mapper. Overlays of overlays are flattened so that a lookup checks at most two tables.
+ *
+ * @param <I> input type
+ * @param <O> output type
+ */
+final class OverlayTable<I, O> implements MappingTable<I, O> {
+
+    private final MappingTable<I, O> overlay;
+
+    private final MappingTable<I, O> base;
+
+    private final int size;
+
+    private Map<I, Function<I, O>> view;
+
+    private OverlayTable(MappingTable<I, O> overlay, MappingTable<I, O> base) {
+        this.overlay = overlay;
+        this.base = base;
+        int added = 0;
+        for (I in : overlay.asMap().keySet()) {
+            if (base.get(in) == null) {
+                added++;
+            }
+        }
+        this.size = base.size() + added;
+    }
+
+    /**
+     * @param inType    input type class
+     * @param base      shared table of the base mapper
+     * @param overrides overridden mappings
+     * @param <I>       input type
+     * @param <O>       output type
+     * @return table looking up overridden mappings first, the base table itself when there is no override
+     */
+    static <I, O> MappingTable<I, O> of(Class<I> inType, MappingTable<I, O> base,
+            Map<I, Function<I, O>> overrides) {
+        if (overrides.isEmpty()) {
+            return base;
+        }
+        if (base instanceof OverlayTable) {
+            final OverlayTable<I, O> overlayTable = (OverlayTable<I, O>) base;
+            final Map<I, Function<I, O>> merged = new HashMap<>(overlayTable.overlay.asMap());
+            merged.putAll(overrides);
+            return new OverlayTable<>(MappingTable.of(inType, merged), overlayTable.base);
+        }
+        return new OverlayTable<>(MappingTable.of(inType, overrides), base);
+    }
+
+    @Override
+    public Function<I, O> get(Object in) {
+        final Function<I, O> function = overlay.get(in);
+        return function != null ? function : base.get(in);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Map<I, Function<I, O>> asMap() {
+        Map<I, Function<I, O>> map = view;
+        if (map == null) {
+            map = new View();
+            view = map;
+        }
+        return map;
+    }
+
+    @Override
+    public String kind() {
+        return "overlay(" + overlay.size() + ", " + base.kind() + ")";
+    }
+
+    /**
+     * The base table is shared with the base mapper and not counted.
+     */
+    @Override
+    public long estimatedBytes() {
+        return 32L + overlay.estimatedBytes();
+    }
+
+    /**
+     * Immutable map view of the table.
+     */
+    private final class View extends AbstractMap<I, Function<I, O>> {
+
+        @Override
+        public Function<I, O> get(Object key) {
+            return OverlayTable.this.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return OverlayTable.this.get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<I, Function<I, O>>> entrySet() {
+            return new AbstractSet<Entry<I, Function<I, O>>>() {
+                @Override
+                public Iterator<Entry<I, Function<I, O>>> iterator() {
+                    return Stream.concat(overlay.asMap().entrySet().stream(),
+                            base.asMap().entrySet().stream().filter(entry -> overlay.get(entry.getKey()) == null))
+                            .map(entry -> (Entry<I, Function<I, O>>) new SimpleImmutableEntry<>(entry))
+                            .iterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
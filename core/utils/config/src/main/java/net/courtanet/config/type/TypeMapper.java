@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.config.type;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Mapper dispatching on the runtime class of input values, as built with {@link Mapper#byType(Class, Class)}.
+ * A value is mapped with the mapping of the most specific registered supertype of its class. Resolution is done
+ * once by concrete class and cached in a {@link ClassValue}, so that repeated dispatch costs a single lookup.
+ * Cached resolutions do not reference the resolved class, and do not prevent its class loader from being
+ * unloaded.
+ *
+ * @param <I> input base type
+ * @param <O> output type
+ */
+public final class TypeMapper<I, O> {
+
+    private final Class<I> baseType;
+
+    private final Class<O> outType;
+
+    private final Map<Class<? extends I>, Function<I, O>> mappings;
+
+    private final Function<I, O> defaultFunction;
+
+    private final Supplier<O> nullSupplier;
+
+    private final ClassValue<Function<I, O>> resolved = new ClassValue<Function<I, O>>() {
+        @Override
+        protected Function<I, O> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private TypeMapper(Class<I> baseType,
+            Class<O> outType,
+            Map<Class<? extends I>, Function<I, O>> mappings,
+            Function<I, O> defaultFunction,
+            Supplier<O> nullSupplier) {
+
+        this.baseType = baseType;
+        this.outType = outType;
+        this.mappings = mappings;
+        this.defaultFunction = defaultFunction;
+        this.nullSupplier = nullSupplier;
+    }
+
+    /**
+     * @return input base type class
+     */
+    public Class<I> getBaseType() {
+        return baseType;
+    }
+
+    /**
+     * @return output type class
+     */
+    public Class<O> getOutType() {
+        return outType;
+    }
+
+    /**
+     * @return immutable map of mappings by registered type
+     */
+    public Map<Class<? extends I>, Function<I, O>> getMappings() {
+        return mappings;
+    }
+
+    /**
+     * Map input value with the mapping of the most specific registered supertype of its class.
+     *
+     * @param input input value
+     * @return output value
+     * @throws IllegalArgumentException if no mapping is defined for the value class, or if several registered
+     *                                  types are equally specific.
+     */
+    public O map(I input) {
+        if (input == null) {
+            if (nullSupplier != null) {
+                return nullSupplier.get();
+            }
+            if (defaultFunction == null) {
+                throw new IllegalArgumentException("null value not supported");
+            }
+            return defaultFunction.apply(null);
+        }
+        return resolved.get(input.getClass()).apply(input);
+    }
+
+    private Function<I, O> resolve(Class<?> type) {
+        final List<Class<? extends I>> candidates = mappings.keySet().stream()
+                .filter(registered -> registered.isAssignableFrom(type))
+                .collect(Collectors.toList());
+        final List<Class<? extends I>> mostSpecific = candidates.stream()
+                .filter(candidate -> candidates.stream()
+                        .noneMatch(other -> other != candidate && candidate.isAssignableFrom(other)))
+                .collect(Collectors.toList());
+        if (mostSpecific.size() == 1) {
+            return mappings.get(mostSpecific.get(0));
+        }
+        if (mostSpecific.size() > 1) {
+            final String names = mostSpecific.stream().map(Class::getName).sorted()
+                    .collect(Collectors.joining(", "));
+            return new Mapper.Unsupported<>(in -> "Ambiguous mapping for " + in.getClass().getName() + ": " + names);
+        }
+        if (defaultFunction != null) {
+            return defaultFunction;
+        }
+        return new Mapper.Unsupported<>(in -> in + " value not supported");
+    }
+
+    @Override
+    public String toString() {
+        return "TypeMapper{" +
+                "baseType=" + baseType +
+                ", outType=" + outType +
+                ", mappings=" + mappings +
+                ", defaultFunction=" + defaultFunction +
+                ", nullSupplier=" + nullSupplier +
+                '}';
+    }
+
+    public static final class TypeMapperBuilder<I, O> {
+
+        private final Class<I> baseType;
+        private final Class<O> outType;
+        private final Map<Class<? extends I>, Function<I, O>> mappings = new LinkedHashMap<>();
+        private Function<I, O> defaultFunction = null;
+        private Supplier<O> nullSupplier = null;
+
+        TypeMapperBuilder(Class<I> baseType, Class<O> outType) {
+            this.baseType = Objects.requireNonNull(baseType, "Base type is null.");
+            this.outType = Objects.requireNonNull(outType, "Out type is null.");
+        }
+
+        /**
+         * Build the immutable TypeMapper.
+         *
+         * @return built immutable TypeMapper
+         * @throws IllegalStateException when there is neither a static mapping nor a default mapping.
+         */
+        public TypeMapper<I, O> build() {
+            if (mappings.isEmpty() && defaultFunction == null) {
+                throw new IllegalStateException(
+                        "Mapper configuration incomplete. Specify at least one mapping or a default function.");
+            }
+            return new TypeMapper<>(baseType, outType, Collections.unmodifiableMap(new LinkedHashMap<>(mappings)),
+                    defaultFunction, nullSupplier);
+        }
+
+        /**
+         * Start defining the mapping of values whose class is the given type or one of its subtypes,
+         * unless a more specific subtype is mapped.
+         *
+         * @param type registered type
+         * @param <T>  registered type
+         * @return mapping to complete
+         * @throws NullPointerException when type is {@code null}.
+         */
+        public <T extends I> TypeMapping<I, T, O> map(Class<T> type) {
+            Objects.requireNonNull(type, "Use mapNull method for mapping null value.");
+            return new TypeMapping<>(type, this);
+        }
+
+        /**
+         * Defines the mapping for values of types without registered supertype.
+         *
+         * @param defaultFunction function to apply
+         * @return type mapper builder to build.
+         */
+        public TypeMapperBuilder<I, O> withDefault(Function<I, O> defaultFunction) {
+            this.defaultFunction = defaultFunction;
+            return this;
+        }
+
+        /**
+         * @param defaultValue default output value
+         * @return type mapper builder to build.
+         */
+        public TypeMapperBuilder<I, O> withDefault(O defaultValue) {
+            return withDefault(new Mapper.Constant<>(defaultValue));
+        }
+
+        /**
+         * Start defining the mapping for the {@code null} value.
+         *
+         * @return mapping to complete
+         */
+        public NullTypeMapping<I, O> mapNull() {
+            return new NullTypeMapping<>(this);
+        }
+    }
+
+    /**
+     * Mapping of a registered type.
+     *
+     * @param <I> input base type
+     * @param <T> registered type
+     * @param <O> output type
+     */
+    public static final class TypeMapping<I, T extends I, O> {
+
+        private final Class<T> type;
+
+        private final TypeMapperBuilder<I, O> builder;
+
+        private TypeMapping(Class<T> type, TypeMapperBuilder<I, O> builder) {
+            this.type = type;
+            this.builder = builder;
+        }
+
+        /**
+         * Complete the mapping definition with the given function, applied to values of the registered type.
+         *
+         * @param function function to apply for this mapping.
+         * @return type mapper builder to build.
+         */
+        @SuppressWarnings("unchecked")
+        public TypeMapperBuilder<I, O> with(Function<? super T, ? extends O> function) {
+            Objects.requireNonNull(function, "Function is null.");
+            builder.mappings.put(type, (Function<I, O>) function);
+            return builder;
+        }
+
+        /**
+         * Complete the mapping definition with the given value.
+         *
+         * @param out value to return for this mapping.
+         * @return type mapper builder to build.
+         */
+        public TypeMapperBuilder<I, O> to(O out) {
+            builder.mappings.put(type, new Mapper.Constant<>(out));
+            return builder;
+        }
+
+        /**
+         * Complete the mapping definition to throw an {@link IllegalArgumentException} as result of mapping.
+         *
+         * @return type mapper builder to build.
+         */
+        public TypeMapperBuilder<I, O> withIllegalArgumentException() {
+            builder.mappings.put(type, Mapper.Unsupported.value());
+            return builder;
+        }
+    }
+
+    /**
+     * Mapping of the {@code null} value.
+     *
+     * @param <I> input base type
+     * @param <O> output type
+     */
+    public static final class NullTypeMapping<I, O> {
+
+        private final TypeMapperBuilder<I, O> builder;
+
+        private NullTypeMapping(TypeMapperBuilder<I, O> builder) {
+            this.builder = builder;
+        }
+
+        /**
+         * Complete null mapping with given out value.
+         *
+         * @param out out value
+         * @return type mapper builder to build.
+         */
+        public TypeMapperBuilder<I, O> to(O out) {
+            builder.nullSupplier = new Mapper.Constant<>(out);
+            return builder;
+        }
+
+        /**
+         * Complete null mapping to throw an {@link IllegalArgumentException} as result of mapping.
+         *
+         * @return type mapper builder to build.
+         */
+        public TypeMapperBuilder<I, O> withIllegalArgumentException() {
+            builder.nullSupplier = Mapper.Unsupported.nullValue();
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class AsyncMapperTest {
+
+    private static final Mapper<String, Integer> MAPPER = Mapper.builder(String.class, Integer.class)
+            .map("A").to(1)
+            .map("B").withIllegalArgumentException()
+            .mapNull().to(0)
+            .withDefault(String::length)
+            .build();
+
+    @Test
+    public void should_complete_immediately_when_mapping_is_static() throws Exception {
+        AsyncMapper<String, Integer> mapper = AsyncMapper.of(MAPPER, in -> new CompletableFuture<>());
+
+        assertThat(mapper.mapAsync("A").getNow(null)).isEqualTo(1);
+        assertThat(mapper.mapAsync(null).getNow(null)).isEqualTo(0);
+        assertThat(mapper.mapAsync("B").isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    public void should_coalesce_concurrent_requests_when_resolving_same_value() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Integer> resolution = new CompletableFuture<>();
+        AsyncMapper<String, Integer> mapper = AsyncMapper.of(MAPPER, in -> {
+            calls.incrementAndGet();
+            return resolution;
+        });
+
+        CompletableFuture<Integer> first = mapper.mapAsync("CC");
+        CompletableFuture<Integer> second = mapper.mapAsync("CC");
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.isDone()).isFalse();
+        assertThat(mapper.getInFlightCount()).isEqualTo(1);
+
+        second.cancel(true);
+        assertThat(first.isDone()).isFalse();
+        resolution.complete(42);
+        assertThat(first.get()).isEqualTo(42);
+        assertThat(second.isCancelled()).isTrue();
+        assertThat(mapper.getInFlightCount()).isEqualTo(0);
+        assertThat(calls.get()).isEqualTo(1);
+
+        mapper.mapAsync("CC");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_apply_default_mapping_on_executor_when_mapping_is_not_static() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncMapper<String, Integer> mapper = AsyncMapper.onExecutor(MAPPER, executor);
+
+            assertThat(mapper.mapAsync("CCC").get()).isEqualTo(3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_fail_when_mapping_is_not_defined() throws Exception {
+        Mapper<String, Integer> noDefault = Mapper.builder(String.class, Integer.class)
+                .map("A").to(1)
+                .build();
+        AsyncMapper<String, Integer> mapper = AsyncMapper.onExecutor(noDefault, Runnable::run);
+
+        CompletableFuture<Integer> future = mapper.mapAsync("C");
+        assertThat(future.isCompletedExceptionally()).isTrue();
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(future::get);
+    }
+}
@@ -0,0 +1,195 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class BeanMapperTest {
+
+    public enum Status {
+        ACTIVE, CLOSED
+    }
+
+    public static class Contract {
+
+        private String reference;
+        private int amount;
+        private boolean signed;
+        private Status status;
+
+        public Contract() {
+        }
+
+        public Contract(String reference, int amount, boolean signed, Status status) {
+            this.reference = reference;
+            this.amount = amount;
+            this.signed = signed;
+            this.status = status;
+        }
+
+        public String getReference() {
+            return reference;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public boolean isSigned() {
+            return signed;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+
+    public static class ContractDto {
+
+        private String reference;
+        private Integer total;
+        private boolean signed;
+        private String state;
+
+        public String getReference() {
+            return reference;
+        }
+
+        public void setReference(String reference) {
+            this.reference = reference;
+        }
+
+        public Integer getTotal() {
+            return total;
+        }
+
+        public void setTotal(Integer total) {
+            this.total = total;
+        }
+
+        public boolean isSigned() {
+            return signed;
+        }
+
+        public void setSigned(boolean signed) {
+            this.signed = signed;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public void setState(String state) {
+            this.state = state;
+        }
+    }
+
+    private static class PrivateDto {
+
+        private String reference;
+
+        public void setReference(String reference) {
+            this.reference = reference;
+        }
+    }
+
+    private static final Mapper<Status, String> STATUS = Mapper.builder(Status.class, String.class)
+            .map(Status.ACTIVE).to("A")
+            .map(Status.CLOSED).to("C")
+            .mapNull().to("?")
+            .build();
+
+    @Test
+    public void should_map_fields_by_name() throws Exception {
+        BeanMapper<Contract, ContractDto> mapper = BeanMapper.builder(Contract.class, ContractDto.class)
+                .field("reference")
+                .field("amount", "total")
+                .field("signed")
+                .field("status", STATUS, "state")
+                .build();
+
+        ContractDto dto = mapper.map(new Contract("C1", 12, true, Status.CLOSED));
+
+        assertThat(dto.getReference()).isEqualTo("C1");
+        assertThat(dto.getTotal()).isEqualTo(12);
+        assertThat(dto.isSigned()).isTrue();
+        assertThat(dto.getState()).isEqualTo("C");
+        assertThat(mapper.map(null)).isNull();
+    }
+
+    @Test
+    public void should_map_fields_with_typed_rules() throws Exception {
+        BeanMapper<Contract, ContractDto> mapper = BeanMapper.builder(Contract.class, ContractDto.class)
+                .map(Contract::getReference).to(ContractDto::setReference)
+                .map(Contract::getStatus).using(STATUS).to(ContractDto::setState)
+                .map(contract -> contract.getAmount() * 2).to(ContractDto::setTotal)
+                .build();
+
+        ContractDto dto = mapper.map(new Contract("C2", 5, false, null));
+
+        assertThat(dto.getReference()).isEqualTo("C2");
+        assertThat(dto.getState()).isEqualTo("?");
+        assertThat(dto.getTotal()).isEqualTo(10);
+    }
+
+    @Test
+    public void should_map_all_beans_with_batch_mapper() throws Exception {
+        List<List<Status>> batches = new ArrayList<>();
+        Mapper<Status, String> batchStatus = Mapper.builder(Status.class, String.class)
+                .withBatchDefault(values -> {
+                    batches.add(new ArrayList<>(values));
+                    return STATUS.getMappings().keySet().stream()
+                            .collect(java.util.stream.Collectors.toMap(s -> s, STATUS::map));
+                })
+                .mapNull().to("?")
+                .build();
+        BeanMapper<Contract, ContractDto> mapper = BeanMapper.builder(Contract.class, ContractDto.class)
+                .field("reference")
+                .field("status", batchStatus, "state")
+                .build();
+
+        List<ContractDto> dtos = mapper.mapAll(Arrays.asList(
+                new Contract("C1", 1, true, Status.ACTIVE),
+                null,
+                new Contract("C2", 2, true, Status.CLOSED),
+                new Contract("C3", 3, true, Status.ACTIVE)));
+
+        assertThat(dtos).hasSize(4);
+        assertThat(dtos.get(1)).isNull();
+        assertThat(dtos.get(0).getState()).isEqualTo("A");
+        assertThat(dtos.get(2).getState()).isEqualTo("C");
+        assertThat(dtos.get(3).getReference()).isEqualTo("C3");
+        assertThat(batches).containsExactly(Arrays.asList(Status.ACTIVE, Status.CLOSED));
+    }
+
+    @Test
+    public void should_bind_accessors_of_non_public_classes() throws Exception {
+        BeanMapper<Contract, PrivateDto> mapper = BeanMapper.builder(Contract.class, PrivateDto.class)
+                .field("reference")
+                .build();
+
+        assertThat(mapper.map(new Contract("C4", 0, false, null)).reference).isEqualTo("C4");
+    }
+
+    @Test
+    public void should_throw_illegalargumentexception_when_rule_does_not_match_properties() throws Exception {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> BeanMapper.builder(Contract.class, ContractDto.class).field("missing"));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> BeanMapper.builder(Contract.class, ContractDto.class).field("reference", "total"));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> BeanMapper.builder(Contract.class, ContractDto.class)
+                        .field("reference", STATUS, "state"));
+    }
+
+    @Test
+    public void should_throw_illegalstateexception_when_no_rule_provided() throws Exception {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> BeanMapper.builder(Contract.class, ContractDto.class).build());
+    }
+}
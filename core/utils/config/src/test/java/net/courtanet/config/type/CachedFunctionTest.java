@@ -0,0 +1,72 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+public class CachedFunctionTest {
+
+    @Test
+    public void should_compute_value_once_when_value_is_cached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("A").to(0)
+                .mapNull().to(null)
+                .withCachedDefault(s -> calls.incrementAndGet(), 10)
+                .build();
+
+        assertThat(mapper.map("B")).isEqualTo(1);
+        assertThat(mapper.map("B")).isEqualTo(1);
+        assertThat(mapper.map("C")).isEqualTo(2);
+        assertThat(mapper.map("A")).isEqualTo(0);
+
+        CachedFunction<String, Integer> cache = (CachedFunction<String, Integer>) mapper.getDefaultMapping();
+        assertThat(cache.getHitCount()).isEqualTo(1L);
+        assertThat(cache.getMissCount()).isEqualTo(2L);
+        assertThat(cache.getHitRate()).isEqualTo(1.0 / 3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_evict_least_recently_used_value_when_cache_is_full() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, Integer> cache = new CachedFunction<>(s -> calls.incrementAndGet(), 1, 0L,
+                TimeUnit.NANOSECONDS);
+
+        assertThat(cache.apply("A")).isEqualTo(1);
+        assertThat(cache.apply("B")).isEqualTo(2);
+        assertThat(cache.apply("B")).isEqualTo(2);
+        assertThat(cache.apply("A")).isEqualTo(3);
+    }
+
+    @Test
+    public void should_compute_value_again_when_value_is_expired() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, Integer> cache = new CachedFunction<>(s -> calls.incrementAndGet(), 10, 1L,
+                TimeUnit.NANOSECONDS);
+
+        assertThat(cache.apply("A")).isEqualTo(1);
+        Thread.sleep(1);
+        assertThat(cache.apply("A")).isEqualTo(2);
+    }
+
+    @Test
+    public void should_not_cache_value_when_building_mapper() throws Exception {
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .withCachedDefault(s -> 0, 10)
+                .build();
+
+        CachedFunction<String, Integer> cache = (CachedFunction<String, Integer>) mapper.getDefaultMapping();
+        assertThat(cache.getMissCount()).isEqualTo(0L);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_throw_illegalargumentexception_when_cache_size_is_not_positive() throws Exception {
+        Mapper.builder(String.class, Integer.class).withCachedDefault(s -> 0, 0);
+    }
+}
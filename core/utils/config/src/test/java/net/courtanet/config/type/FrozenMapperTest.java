@@ -0,0 +1,80 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+public class FrozenMapperTest {
+
+    private enum Color {
+        RED, GREEN, BLUE, BLACK
+    }
+
+    @Test
+    public void should_restore_mapper_equivalent_to_built_mapper() throws Exception {
+        Mapper<Color, String> built = Mapper.builder(Color.class, String.class)
+                .map(Color.RED, Color.GREEN).to("color")
+                .map(Color.BLUE).to("blue")
+                .map(Color.BLACK).withIllegalArgumentException()
+                .mapNull().withIllegalArgumentException()
+                .build();
+
+        Mapper<Color, String> restored = FrozenMapper.restore(Color.class, String.class,
+                new Color[] { Color.RED, Color.GREEN, Color.BLUE }, new String[] { "color", "color", "blue" },
+                new Color[] { Color.BLACK }, FrozenMapper.flags(built), null, null);
+
+        assertThat(FrozenMapper.isFreezable(built)).isEqualTo(true);
+        assertThat(restored.map(Color.RED)).isEqualTo(built.map(Color.RED));
+        assertThat(restored.map(Color.BLUE)).isEqualTo(built.map(Color.BLUE));
+        assertThat(restored.getMappings().get(Color.RED)).isSameAs(restored.getMappings().get(Color.GREEN));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> restored.map(Color.BLACK))
+                .withMessage("Unsupported BLACK value.");
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> restored.map(null))
+                .withMessage("Unsupported null value.");
+    }
+
+    @Test
+    public void should_restore_null_and_default_constants() throws Exception {
+        Mapper<Integer, String> built = Mapper.builder(Integer.class, String.class)
+                .map(1).to("one")
+                .mapNull().to("none")
+                .withDefault("other")
+                .build();
+
+        Mapper<Integer, String> restored = FrozenMapper.restore(Integer.class, String.class,
+                new Integer[] { 1 }, new String[] { "one" }, new Integer[0], FrozenMapper.flags(built),
+                "none", "other");
+
+        assertThat(FrozenMapper.flags(built))
+                .isEqualTo(FrozenMapper.NULL_CONSTANT | FrozenMapper.DEFAULT_CONSTANT);
+        assertThat(restored.map(1)).isEqualTo("one");
+        assertThat(restored.map(null)).isEqualTo("none");
+        assertThat(restored.map(2)).isEqualTo("other");
+    }
+
+    @Test
+    public void should_not_share_constant_when_restored_values_are_equal_but_distinct() throws Exception {
+        Date first = new Date(0);
+        Date second = new Date(0);
+
+        Mapper<Integer, Date> restored = FrozenMapper.restore(Integer.class, Date.class,
+                new Integer[] { 1, 2 }, new Date[] { first, second }, new Integer[0], 0, null, null);
+        first.setTime(1);
+
+        assertThat(restored.map(1)).isSameAs(first);
+        assertThat(restored.map(2)).isSameAs(second).isEqualTo(new Date(0));
+    }
+
+    @Test
+    public void should_throw_illegalargumentexception_when_mapper_is_not_constant_only() throws Exception {
+        Mapper<Integer, String> mapper = Mapper.builder(Integer.class, String.class)
+                .withDefault(String::valueOf)
+                .build();
+
+        assertThat(FrozenMapper.isFreezable(mapper)).isEqualTo(false);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> FrozenMapper.flags(mapper));
+    }
+}
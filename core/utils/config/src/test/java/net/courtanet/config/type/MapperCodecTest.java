@@ -0,0 +1,116 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MapperCodecTest {
+
+    public enum Channel {
+        WEB, PHONE, AGENCY, PARTNER
+    }
+
+    private static final Mapper<String, Channel> CHANNEL = Mapper.builder(String.class, Channel.class)
+            .map("web", "www", "internet").to(Channel.WEB)
+            .map("tel").to(Channel.PHONE)
+            .map("fax").withIllegalArgumentException()
+            .mapNull().to(null)
+            .withDefault(Channel.PARTNER)
+            .build();
+
+    /**
+     * Decode the mapper encoded in the first file and encode it again in the second file, in another process.
+     */
+    public static class Echo {
+
+        public static void main(String[] args) throws Exception {
+            Mapper<String, Channel> mapper = MapperCodec.decode(Files.readAllBytes(new File(args[0]).toPath()),
+                    String.class, Channel.class);
+            Files.write(new File(args[1]).toPath(), MapperCodec.encode(mapper));
+        }
+    }
+
+    @Test
+    public void should_restore_mapper_when_decoding() throws Exception {
+        Mapper<String, Channel> decoded = MapperCodec.decode(MapperCodec.encode(CHANNEL), String.class,
+                Channel.class);
+
+        assertThat(decoded.map("www")).isEqualTo(Channel.WEB);
+        assertThat(decoded.map("tel")).isEqualTo(Channel.PHONE);
+        assertThat(decoded.map("other")).isEqualTo(Channel.PARTNER);
+        assertThat(decoded.map(null)).isEqualTo(null);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> decoded.map("fax"));
+    }
+
+    @Test
+    public void should_round_trip_between_processes() throws Exception {
+        File sent = File.createTempFile("mapper", ".bin");
+        File received = File.createTempFile("mapper", ".bin");
+        try {
+            byte[] encoded = MapperCodec.encode(CHANNEL);
+            Files.write(sent.toPath(), encoded);
+            Process process = new ProcessBuilder(
+                    new File(System.getProperty("java.home"), "bin/java").getPath(),
+                    "-cp", System.getProperty("java.class.path"),
+                    Echo.class.getName(), sent.getPath(), received.getPath())
+                    .inheritIO()
+                    .start();
+
+            assertThat(process.waitFor(60, TimeUnit.SECONDS)).isEqualTo(true);
+            assertThat(process.exitValue()).isEqualTo(0);
+            Mapper<String, Channel> decoded = MapperCodec.decode(Files.readAllBytes(received.toPath()),
+                    String.class, Channel.class);
+            assertThat(decoded.getMappings().keySet()).containsExactlyInAnyOrder("web", "www", "internet", "tel",
+                    "fax");
+            assertThat(decoded.map("internet")).isEqualTo(Channel.WEB);
+            assertThat(decoded.map("unknown")).isEqualTo(Channel.PARTNER);
+        } finally {
+            sent.delete();
+            received.delete();
+        }
+    }
+
+    @Test
+    public void should_encode_enum_to_primitive_wrapper_mapper() throws Exception {
+        Mapper<Channel, Long> mapper = Mapper.builder(Channel.class, Long.class)
+                .map(Channel.WEB).to(1L)
+                .map(Channel.PHONE).to(Long.MAX_VALUE)
+                .map(Channel.AGENCY).to(null)
+                .mapNull().withIllegalArgumentException()
+                .withDefault(-1L)
+                .build();
+
+        Mapper<Channel, Long> decoded = MapperCodec.decode(MapperCodec.encode(mapper), Channel.class, Long.class);
+
+        assertThat(decoded.map(Channel.PHONE)).isEqualTo(Long.MAX_VALUE);
+        assertThat(decoded.map(Channel.AGENCY)).isEqualTo(null);
+        assertThat(decoded.map(Channel.PARTNER)).isEqualTo(-1L);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> decoded.map(null));
+    }
+
+    @Test
+    public void should_throw_illegalargumentexception_when_mapper_has_functions() throws Exception {
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("a").with(String::length)
+                .build();
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> MapperCodec.encode(mapper))
+                .withMessageContaining("can not be encoded");
+    }
+
+    @Test
+    public void should_throw_illegalargumentexception_when_types_do_not_match() throws Exception {
+        byte[] encoded = MapperCodec.encode(CHANNEL);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MapperCodec.decode(encoded, String.class, Integer.class));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MapperCodec.decode(new byte[] { 1, 2, 3, 4 }, String.class, Channel.class))
+                .withMessage("Not a mapper encoding.");
+    }
+}
@@ -0,0 +1,57 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static net.courtanet.config.type.MapperCollectors.groupingByMapped;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class MapperCollectorsTest {
+
+    private enum Category {
+        SMALL, MEDIUM, LARGE
+    }
+
+    private static final Mapper<Integer, Category> CATEGORY = Mapper.builder(Integer.class, Category.class)
+            .withDefault(i -> i == null ? null : i < 10 ? Category.SMALL : i < 100 ? Category.MEDIUM : Category.LARGE)
+            .mapNull().to(null)
+            .build();
+
+    @Test
+    public void should_group_in_enum_map_when_output_is_enum() throws Exception {
+        List<Integer> values = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        Map<Category, Long> counts = values.parallelStream().collect(groupingByMapped(CATEGORY, Collectors.counting()));
+        Map<Category, List<Integer>> groups = values.stream().filter(i -> i < 100).collect(groupingByMapped(CATEGORY));
+
+        assertThat(counts).isInstanceOf(EnumMap.class);
+        assertThat(counts).containsEntry(Category.SMALL, 10L);
+        assertThat(counts).containsEntry(Category.MEDIUM, 90L);
+        assertThat(counts).containsEntry(Category.LARGE, 900L);
+        assertThat(groups.keySet()).containsExactly(Category.SMALL, Category.MEDIUM);
+        assertThat(groups.get(Category.SMALL)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void should_group_by_mapped_attribute() throws Exception {
+        Mapper<Category, String> label = Mapper.builder(Category.class, String.class)
+                .withDefault(c -> c == null ? "none" : c.name().toLowerCase())
+                .build();
+
+        Map<String, Set<Category>> groups = Arrays.stream(Category.values())
+                .collect(groupingByMapped(c -> c, label, Collectors.toSet()));
+
+        assertThat(groups).isInstanceOf(HashMap.class);
+        assertThat(groups.get("small")).containsExactly(Category.SMALL);
+    }
+
+    @Test
+    public void should_throw_nullpointerexception_when_value_is_mapped_to_null() throws Exception {
+        assertThatExceptionOfType(NullPointerException.class)
+                .isThrownBy(() -> Arrays.asList(1, null).stream().collect(groupingByMapped(CATEGORY)));
+    }
+}
@@ -0,0 +1,115 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+public class MapperRegistryTest {
+
+    private enum EA {
+        A, B, C, D
+    }
+
+    private static final Mapper<EA, String> FIELD_MAPPER = Mapper.builder(EA.class, String.class)
+            .withDefault(Enum::name)
+            .mapNull().to(null)
+            .build();
+
+    private static MapperInfo info(String name) {
+        List<MapperInfo> infos = MapperRegistry.getMappers().stream()
+                .filter(info -> info.getName().equals(name))
+                .collect(Collectors.toList());
+        assertThat(infos).hasSize(1);
+        return infos.get(0);
+    }
+
+    @Test
+    public void should_report_registered_mapper_with_call_count_when_metrics_are_enabled() throws Exception {
+        Mapper<EA, Integer> mapper = Mapper.builder(EA.class, Integer.class)
+                .map(EA.A).to(1)
+                .map(EA.B).to(2)
+                .withMetrics()
+                .registered("registryTest.metrics")
+                .build();
+
+        mapper.map(EA.A);
+        mapper.map(EA.B);
+        mapper.mapAll(Arrays.asList(EA.A, EA.A));
+
+        MapperInfo info = info("registryTest.metrics");
+        assertThat(info.getTableKind()).isEqualTo("enum");
+        assertThat(info.getSize()).isEqualTo(2);
+        assertThat(info.getEstimatedBytes()).isGreaterThan(0L);
+        assertThat(info.getBuildTimeNanos()).isGreaterThanOrEqualTo(0L);
+        assertThat(info.getCallCount()).isEqualTo(4L);
+        assertThat(MapperRegistry.report()).contains("registryTest.metrics", "table=enum", "calls=4");
+    }
+
+    @Test
+    public void should_not_count_calls_when_metrics_are_disabled() throws Exception {
+        Mapper<Integer, String> mapper = MapperRegistry.register("registryTest.noMetrics",
+                Mapper.builder(Integer.class, String.class).map(1).to("one").build());
+
+        mapper.map(1);
+
+        MapperInfo info = info("registryTest.noMetrics");
+        assertThat(info.getTableKind()).isEqualTo("open-addressing");
+        assertThat(info.getCallCount()).isEqualTo(-1L);
+        assertThat(info.toString()).contains("calls=n/a");
+        MapperRegistry.unregister(mapper);
+        assertThat(MapperRegistry.getMappers().stream().map(MapperInfo::getName).collect(Collectors.toList()))
+                .doesNotContain("registryTest.noMetrics");
+    }
+
+    @Test
+    public void should_report_every_name_when_interned_mapper_is_registered_twice() throws Exception {
+        Mapper<EA, String> first = Mapper.builder(EA.class, String.class)
+                .map(EA.A).to("registryTest.interned")
+                .interned()
+                .registered("registryTest.first")
+                .build();
+        Mapper<EA, String> second = Mapper.builder(EA.class, String.class)
+                .map(EA.A).to("registryTest.interned")
+                .interned()
+                .registered("registryTest.second")
+                .build();
+
+        assertThat(second).isSameAs(first);
+        assertThat(info("registryTest.first").getSize()).isEqualTo(1);
+        assertThat(info("registryTest.second").getSize()).isEqualTo(1);
+        MapperRegistry.unregister(first);
+        assertThat(MapperRegistry.getMappers().stream().map(MapperInfo::getName).collect(Collectors.toList()))
+                .doesNotContain("registryTest.first", "registryTest.second");
+    }
+
+    @Test
+    public void should_register_static_mapper_fields_with_field_name() throws Exception {
+        MapperRegistry.registerFields(MapperRegistryTest.class);
+
+        assertThat(info("MapperRegistryTest.FIELD_MAPPER").getInType()).isEqualTo(EA.class.getName());
+    }
+
+    @Test
+    public void should_expose_registry_through_jmx() throws Exception {
+        Mapper<EA, String> mapper = MapperRegistry.register("registryTest.jmx",
+                Mapper.builder(EA.class, String.class).map(EA.A).to("a").build());
+        MapperRegistry.registerMBean();
+        MapperRegistry.registerMBean();
+
+        Object report = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MapperRegistry.OBJECT_NAME), "Report");
+        Object mappers = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MapperRegistry.OBJECT_NAME), "Mappers");
+
+        assertThat(report.toString()).contains("registryTest.jmx");
+        assertThat(mappers).isNotNull();
+        MapperRegistry.unregister(mapper);
+    }
+}
@@ -3,6 +3,11 @@ package net.courtanet.config.type;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 
 public class MapperTest {
@@ -141,4 +146,584 @@ public class MapperTest {
                 .map(EB.A).to(1)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void should_map_with_fallback_mapper_when_value_is_not_supported() throws Exception {
+        Mapper<EA, Integer> partner = Mapper.builder(EA.class, Integer.class)
+                .map(EA.A).to(1)
+                .map(EA.B).withIllegalArgumentException()
+                .build();
+        Mapper<EA, Integer> global = Mapper.builder(EA.class, Integer.class)
+                .map(EA.A, EA.B, EA.C).to(10)
+                .mapNull().to(0)
+                .build();
+        Mapper<EA, Integer> mapper = partner.orElse(global);
+
+        assertThat(mapper.map(EA.A)).isEqualTo(1);
+        assertThat(mapper.map(EA.B)).isEqualTo(10);
+        assertThat(mapper.map(EA.C)).isEqualTo(10);
+        assertThat(mapper.map(null)).isEqualTo(0);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map(EA.D));
+    }
+
+    @Test
+    public void should_not_use_fallback_mapper_when_default_mapping_is_defined() throws Exception {
+        Mapper<String, Integer> partner = Mapper.builder(String.class, Integer.class)
+                .map("A").to(1)
+                .withDefault(s -> -1)
+                .build();
+        Mapper<String, Integer> global = Mapper.builder(String.class, Integer.class)
+                .map("A", "B").to(10)
+                .withDefault(s -> 0)
+                .build();
+        Mapper<String, Integer> mapper = partner.orElse(global);
+
+        assertThat(mapper.map("A")).isEqualTo(1);
+        assertThat(mapper.map("B")).isEqualTo(-1);
+        assertThat(mapper.map(null)).isEqualTo(-1);
+    }
+
+    @Test
+    public void should_use_fallback_default_mapping_when_value_is_not_supported() throws Exception {
+        Mapper<String, Integer> partner = Mapper.builder(String.class, Integer.class)
+                .map("A").to(1)
+                .map("B").withIllegalArgumentException()
+                .build();
+        Mapper<String, Integer> global = Mapper.builder(String.class, Integer.class)
+                .mapNull().to(null)
+                .withDefault(String::length)
+                .build();
+        Mapper<String, Integer> mapper = partner.orElse(global);
+
+        assertThat(mapper.map("A")).isEqualTo(1);
+        assertThat(mapper.map("B")).isEqualTo(1);
+        assertThat(mapper.map("CCC")).isEqualTo(3);
+        assertThat(mapper.map(null)).isNull();
+    }
+
+    @Test
+    public void should_resolve_distinct_values_in_one_batch_when_mapping_all() throws Exception {
+        List<Collection<String>> batches = new ArrayList<>();
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("A").to(0)
+                .mapNull().to(-1)
+                .withBatchDefault(values -> {
+                    batches.add(new ArrayList<>(values));
+                    return values.stream()
+                            .filter(v -> !v.equals("ZZZ"))
+                            .collect(Collectors.toMap(Function.identity(), String::length));
+                })
+                .build();
+
+        assertThat(mapper.mapAll(Arrays.asList("A", "BB", null, "CCC", "BB", "A")))
+                .containsExactly(0, 2, -1, 3, 2, 0);
+        assertThat(batches).containsExactly(Arrays.asList("BB", "CCC"));
+        assertThat(mapper.map("DDDD")).isEqualTo(4);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map("ZZZ"));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> mapper.mapAll(Arrays.asList("A", "ZZZ")));
+    }
+
+    @Test
+    public void should_not_call_batch_function_when_building_without_null_mapping() throws Exception {
+        List<Collection<String>> batches = new ArrayList<>();
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("A").to(0)
+                .withBatchDefault(values -> {
+                    batches.add(new ArrayList<>(values));
+                    return values.contains(null) ? null : Collections.singletonMap("BB", 2);
+                })
+                .build();
+
+        assertThat(batches).isEmpty();
+        assertThat(mapper.map("BB")).isEqualTo(2);
+        assertThat(batches).containsExactly(Collections.singletonList("BB"));
+    }
+
+    @Test
+    public void should_map_values_one_by_one_when_mapping_all_without_batch_default() throws Exception {
+        Mapper<EA, Integer> mapper = Mapper.builder(EA.class, Integer.class)
+                .map(EA.A).to(1)
+                .mapNull().to(0)
+                .withDefault(ea -> ea.ordinal() * 10)
+                .build();
+
+        assertThat(mapper.mapAll(Arrays.asList(EA.A, EA.C, null))).containsExactly(1, 20, 0);
+    }
+
+    @Test
+    public void should_map_each_distinct_value_once_when_mapping_column() throws Exception {
+        List<EA> calls = new ArrayList<>();
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .map(EA.A, EA.B, EA.C).with(ea -> {
+                    calls.add(ea);
+                    return ea.name().toLowerCase();
+                })
+                .mapNull().to("null")
+                .build();
+
+        DictionaryColumn<String> column = mapper.encodeColumn(new EA[] { EA.B, EA.A, EA.B, null, EA.A, EA.B });
+
+        assertThat(column.getCodes()).containsExactly(0, 1, 0, 2, 1, 0);
+        assertThat(column.getDictionary()).containsExactly("b", "a", "null");
+        assertThat(column.toArray()).containsExactly("b", "a", "b", "null", "a", "b");
+        assertThat(calls).containsExactly(EA.B, EA.A);
+    }
+
+    @Test
+    public void should_map_column_when_values_are_not_enum() throws Exception {
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("A").to(1)
+                .withDefault(s -> s == null ? 0 : s.length())
+                .build();
+
+        assertThat(mapper.mapColumn(new String[] { "A", "BB", null, "A", "BB" })).containsExactly(1, 2, 0, 1, 2);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> Mapper.builder(EA.class, Integer.class).map(EA.A).to(1).build()
+                        .mapColumn(new EA[] { EA.A, EA.D }));
+    }
+
+    @Test
+    public void should_map_with_open_addressing_table_when_values_are_not_enum_nor_string() throws Exception {
+        Mapper.MapperBuilder<Integer, String> builder = Mapper.builder(Integer.class, String.class);
+        for (int i = 0; i < 1000; i++) {
+            builder.map(i * 16).to(i % 2 == 0 ? "even" : "odd");
+        }
+        Mapper<Integer, String> mapper = builder.map(-1).withIllegalArgumentException().build();
+
+        assertThat(mapper.getTable()).isInstanceOf(OpenAddressingTable.class);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(mapper.map(i * 16)).isEqualTo(i % 2 == 0 ? "even" : "odd");
+        }
+        assertThat(mapper.getMappings()).hasSize(1001);
+        assertThat(mapper.getMappings().containsKey(32)).isTrue();
+        assertThat(mapper.getMappings().containsKey(33)).isFalse();
+        assertThat(mapper.getMappings().get(0)).isSameAs(mapper.getMappings().get(32));
+        assertThat(mapper.getMappings().keySet()).hasSize(1001);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map(-1));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map(33));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> mapper.getMappings().remove(0));
+    }
+
+    @Test
+    public void should_not_share_constant_when_open_addressing_values_are_equal_but_distinct() throws Exception {
+        Date first = new Date(0);
+        Date second = new Date(0);
+        Mapper<Integer, Date> mapper = Mapper.builder(Integer.class, Date.class)
+                .map(1).to(first)
+                .map(2).to(second)
+                .map(3).to(second)
+                .build();
+        first.setTime(1);
+
+        assertThat(mapper.getTable()).isInstanceOf(OpenAddressingTable.class);
+        assertThat(mapper.map(1)).isSameAs(first);
+        assertThat(mapper.map(2)).isSameAs(second).isEqualTo(new Date(0));
+        assertThat(mapper.getMappings().get(2)).isSameAs(mapper.getMappings().get(3));
+    }
+
+    @Test
+    public void should_share_instance_when_interned_mappers_are_structurally_identical() throws Exception {
+        Mapper<EA, Boolean> mapper = Mapper.builder(EA.class, Boolean.class)
+                .map(EA.A, EA.B).to(true)
+                .map(EA.C).withIllegalArgumentException()
+                .withDefault(false)
+                .mapNull().to(null)
+                .interned()
+                .build();
+        Mapper<EA, Boolean> same = Mapper.builder(EA.class, Boolean.class)
+                .map(EA.A, EA.B).to(true)
+                .map(EA.C).withIllegalArgumentException()
+                .withDefault(false)
+                .mapNull().to(null)
+                .interned()
+                .build();
+        Mapper<EA, Boolean> other = Mapper.builder(EA.class, Boolean.class)
+                .map(EA.A, EA.B).to(true)
+                .map(EA.C).withIllegalArgumentException()
+                .withDefault(true)
+                .mapNull().to(null)
+                .interned()
+                .build();
+        Mapper<EA, Boolean> notInterned = Mapper.builder(EA.class, Boolean.class)
+                .map(EA.A, EA.B).to(true)
+                .map(EA.C).withIllegalArgumentException()
+                .withDefault(false)
+                .mapNull().to(null)
+                .build();
+
+        assertThat(same).isSameAs(mapper);
+        assertThat(other).isNotSameAs(mapper);
+        assertThat(notInterned).isNotSameAs(mapper);
+        assertThat(same.map(EA.D)).isFalse();
+        assertThat(other.map(EA.D)).isTrue();
+    }
+
+    @Test
+    public void should_not_intern_mapper_when_mapping_is_a_function() throws Exception {
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .map(EA.A).with(Enum::name)
+                .interned()
+                .build();
+        Mapper<EA, String> same = Mapper.builder(EA.class, String.class)
+                .map(EA.A).with(Enum::name)
+                .interned()
+                .build();
+
+        assertThat(same).isNotSameAs(mapper);
+    }
+
+    @Test
+    public void should_check_dominant_values_first_when_adaptive_window_is_complete() throws Exception {
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("A").to(1)
+                .map("B").to(2)
+                .map("C").to(3)
+                .map("D").withIllegalArgumentException()
+                .withDefault(0)
+                .adaptive(10, 2)
+                .build();
+        AdaptiveTable<String, Integer> table = (AdaptiveTable<String, Integer>) mapper.getTable();
+
+        for (int i = 0; i < 9; i++) {
+            assertThat(mapper.map(i % 3 == 0 ? "C" : "B")).isEqualTo(i % 3 == 0 ? 3 : 2);
+        }
+        assertThat(table.isSpecialized()).isFalse();
+        assertThat(mapper.map("unmapped")).isEqualTo(0);
+        assertThat(table.isSpecialized()).isFalse();
+        assertThat(mapper.map("B")).isEqualTo(2);
+
+        assertThat(table.isSpecialized()).isTrue();
+        assertThat(table.kind()).isEqualTo("hot-keys(2, hash)");
+        assertThat(mapper.map("B")).isEqualTo(2);
+        assertThat(mapper.map("C")).isEqualTo(3);
+        assertThat(mapper.map(new String("B"))).isEqualTo(2);
+        assertThat(mapper.map("A")).isEqualTo(1);
+        assertThat(mapper.map("unmapped")).isEqualTo(0);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map("D"));
+        assertThat(mapper.getMappings()).hasSize(4);
+    }
+
+    @Test
+    public void should_take_hot_path_when_adaptive_inputs_are_not_interned() throws Exception {
+        Map<String, Function<String, Integer>> mappings = new HashMap<>();
+        mappings.put("A", new Mapper.Constant<>(1));
+        mappings.put("B", new Mapper.Constant<>(2));
+        AtomicInteger lookups = new AtomicInteger();
+        MappingTable<String, Integer> map = MappingTable.of(String.class, mappings);
+        MappingTable<String, Integer> general = new MappingTable<String, Integer>() {
+
+            @Override
+            public Function<String, Integer> get(Object in) {
+                lookups.incrementAndGet();
+                return map.get(in);
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public Map<String, Function<String, Integer>> asMap() {
+                return map.asMap();
+            }
+
+            @Override
+            public String kind() {
+                return map.kind();
+            }
+
+            @Override
+            public long estimatedBytes() {
+                return map.estimatedBytes();
+            }
+        };
+        AdaptiveTable<String, Integer> table = new AdaptiveTable<>(general, 4, 1);
+        for (int i = 0; i < 4; i++) {
+            table.get(new String("B"));
+        }
+        lookups.set(0);
+
+        assertThat(table.isSpecialized()).isTrue();
+        assertThat(table.get(new String("B")).apply("B")).isEqualTo(2);
+        assertThat(table.get("B").apply("B")).isEqualTo(2);
+        assertThat(lookups.get()).isEqualTo(0);
+        assertThat(table.get(new String("A")).apply("A")).isEqualTo(1);
+        assertThat(lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_keep_enum_specialization_when_enum_mapper_is_adaptive() throws Exception {
+        Mapper<EA, Integer> mapper = Mapper.builder(EA.class, Integer.class)
+                .map(EA.A).to(1)
+                .withDefault(0)
+                .adaptive()
+                .build();
+
+        assertThat(mapper).isInstanceOf(Mapper.EnumMapper.class);
+        assertThat(mapper.getTable() instanceof AdaptiveTable).isEqualTo(false);
+        assertThat(mapper.map(EA.A)).isEqualTo(1);
+        assertThat(mapper.map(EA.B)).isEqualTo(0);
+    }
+
+    @Test
+    public void should_map_consistently_when_adaptive_table_switches_concurrently() throws Exception {
+        Mapper<Integer, Integer> mapper = Mapper.builder(Integer.class, Integer.class)
+                .map(1).to(10)
+                .map(2).to(20)
+                .withDefault(i -> i == null ? 0 : -i)
+                .adaptive(1000, 1)
+                .build();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(i % 10 == 0 ? 2 : i % 7 == 0 ? 3 : 1);
+        }
+
+        List<Integer> outputs = values.parallelStream().map(mapper::map).collect(Collectors.toList());
+
+        assertThat(outputs).isEqualTo(values.stream().map(i -> i == 3 ? -3 : i * 10).collect(Collectors.toList()));
+        assertThat(((AdaptiveTable<Integer, Integer>) mapper.getTable()).isSpecialized()).isTrue();
+    }
+
+    @Test
+    public void should_resolve_enum_values_with_array_lookup_when_input_is_enum() throws Exception {
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .map(EA.A).to("a")
+                .map(EA.B).withIllegalArgumentException()
+                .withDefault(ea -> ea == null ? "none" : ea.name())
+                .build();
+        Mapper<EA, EA> ordinal = Mapper.builder(EA.class, EA.class)
+                .map(EA.A).to(EA.B)
+                .map(EA.B).with(ea -> EA.C)
+                .build();
+
+        assertThat(mapper).isInstanceOf(Mapper.EnumMapper.class);
+        assertThat(mapper.map(EA.A)).isEqualTo("a");
+        assertThat(mapper.map(EA.C)).isEqualTo("C");
+        assertThat(mapper.map(null)).isEqualTo("none");
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map(EA.B));
+        assertThat(ordinal).isInstanceOf(Mapper.OrdinalMapper.class);
+        assertThat(ordinal.map(EA.A)).isEqualTo(EA.B);
+        assertThat(ordinal.map(EA.B)).isEqualTo(EA.C);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ordinal.map(EA.C))
+                .withMessage("C value not supported");
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> ordinal.map(null))
+                .withMessage("null value not supported");
+    }
+
+    @Test
+    public void should_not_call_default_function_when_building_strict_mapper() throws Exception {
+        List<EA> calls = new ArrayList<>();
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .map(EA.A).to("a")
+                .withDefault(ea -> {
+                    calls.add(ea);
+                    return ea.name();
+                })
+                .mapNull().to("none")
+                .strict()
+                .build();
+
+        assertThat(calls).isEmpty();
+        assertThat(mapper.map(EA.B)).isEqualTo("B");
+    }
+
+    @Test
+    public void should_throw_illegalstateexception_when_strict_mapper_is_not_exhaustive() throws Exception {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> Mapper.builder(EA.class, String.class)
+                        .map(EA.A, EA.B, EA.C).to("a")
+                        .mapNull().to(null)
+                        .strict()
+                        .build())
+                .withMessageContaining("D");
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> Mapper.builder(EA.class, String.class)
+                        .withDefault(Enum::name)
+                        .strict()
+                        .build())
+                .withMessageContaining("null mapping");
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> Mapper.builder(EA.class, String.class)
+                        .map(EA.values()).to("a")
+                        .withDefault("b")
+                        .mapNull().to(null)
+                        .strict()
+                        .build())
+                .withMessageContaining("unreachable");
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> Mapper.builder(String.class, String.class)
+                        .map("a").to("a")
+                        .mapNull().to(null)
+                        .strict()
+                        .build());
+    }
+
+    @Test
+    public void should_keep_size_characteristics_when_mapping_spliterator() throws Exception {
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .withDefault(Enum::name)
+                .mapNull().to(null)
+                .build();
+        List<EA> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(EA.values()[i % 4]);
+        }
+
+        Spliterator<String> spliterator = mapper.spliterator(values.spliterator());
+
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED)).isTrue();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SUBSIZED)).isTrue();
+        assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1000L);
+        assertThat(spliterator.trySplit().getExactSizeIfKnown()).isEqualTo(500L);
+        assertThat(mapper.stream(values, true).collect(Collectors.toList()))
+                .isEqualTo(values.stream().map(mapper.asFunction()).collect(Collectors.toList()));
+        assertThat(values.stream().collect(mapper.mapping(Collectors.toSet())))
+                .containsExactlyInAnyOrder("A", "B", "C", "D");
+    }
+
+    @Test
+    public void should_derive_enum_mapper_with_overrides() throws Exception {
+        Mapper<EA, String> base = Mapper.builder(EA.class, String.class)
+                .map(EA.A, EA.B).to("ab")
+                .withDefault("other")
+                .mapNull().to("none")
+                .build();
+
+        Mapper<EA, String> derived = base.toBuilder()
+                .map(EA.B).to("b")
+                .map(EA.C).withIllegalArgumentException()
+                .build();
+
+        assertThat(derived.map(EA.A)).isEqualTo("ab");
+        assertThat(derived.map(EA.B)).isEqualTo("b");
+        assertThat(derived.map(EA.D)).isEqualTo("other");
+        assertThat(derived.map(null)).isEqualTo("none");
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> derived.map(EA.C));
+        assertThat(base.map(EA.B)).isEqualTo("ab");
+        assertThat(base.map(EA.C)).isEqualTo("other");
+    }
+
+    @Test
+    public void should_share_base_table_when_deriving_mapper_with_overrides() throws Exception {
+        Mapper.MapperBuilder<Integer, String> builder = Mapper.builder(Integer.class, String.class);
+        for (int i = 0; i < 1000; i++) {
+            builder.map(i).to("v" + i);
+        }
+        Mapper<Integer, String> base = builder.build();
+        Map<Integer, String> overrides = new HashMap<>();
+        overrides.put(1, "one");
+        overrides.put(5000, "new");
+
+        Mapper<Integer, String> derived = base.withOverrides(overrides);
+        Mapper<Integer, String> derivedTwice = derived.withOverrides(Collections.singletonMap(2, "two"));
+
+        assertThat(derived.map(1)).isEqualTo("one");
+        assertThat(derived.map(2)).isEqualTo("v2");
+        assertThat(derived.map(5000)).isEqualTo("new");
+        assertThat(base.map(1)).isEqualTo("v1");
+        assertThat(derived.getMappings()).hasSize(1001);
+        assertThat(derived.getMappings().get(1).apply(1)).isEqualTo("one");
+        assertThat(derived.getMappings().keySet()).hasSize(1001);
+        assertThat(derived.getTable().estimatedBytes()).isLessThan(base.getTable().estimatedBytes() / 10);
+        assertThat(derivedTwice.getTable().kind()).isEqualTo("overlay(3, open-addressing)");
+        assertThat(derivedTwice.map(1)).isEqualTo("one");
+        assertThat(derivedTwice.map(2)).isEqualTo("two");
+        assertThat(derivedTwice.map(3)).isEqualTo("v3");
+        assertThat(base.withOverrides(Collections.emptyMap()).getTable()).isSameAs(base.getTable());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_keep_settings_and_drop_samples_when_deriving_adaptive_mapper() throws Exception {
+        Mapper<Integer, Integer> base = Mapper.builder(Integer.class, Integer.class)
+                .map(1).to(10)
+                .map(2).to(20)
+                .withMetrics()
+                .adaptive(2, 1)
+                .build();
+        base.map(1);
+        base.map(1);
+
+        Mapper<Integer, Integer> derived = base.withOverrides(Collections.singletonMap(3, 30));
+
+        assertThat(((AdaptiveTable<Integer, Integer>) base.getTable()).isSpecialized()).isTrue();
+        assertThat(derived.getTable()).isInstanceOf(AdaptiveTable.class);
+        assertThat(((AdaptiveTable<Integer, Integer>) derived.getTable()).isSpecialized()).isFalse();
+        assertThat(derived.getTable().kind()).isEqualTo("adaptive(overlay(1, open-addressing))");
+        assertThat(derived.map(1)).isEqualTo(10);
+        assertThat(derived.map(3)).isEqualTo(30);
+        assertThat(derived.getCallCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_keep_interned_setting_when_deriving_mapper() throws Exception {
+        Mapper<EA, String> base = Mapper.builder(EA.class, String.class)
+                .map(EA.A).to("derived-interned")
+                .mapNull().to(null)
+                .interned()
+                .build();
+
+        assertThat(base.toBuilder().build()).isSameAs(base);
+        assertThat(base.withOverrides(Collections.singletonMap(EA.B, "b")))
+                .isSameAs(base.withOverrides(Collections.singletonMap(EA.B, "b")));
+    }
+
+    @Test
+    public void should_map_outputs_to_their_inputs_when_inverted() throws Exception {
+        Mapper<String, EA> mapper = Mapper.builder(String.class, EA.class)
+                .map("a1", "a2").to(EA.A)
+                .map("b").to(EA.B)
+                .map("x").withIllegalArgumentException()
+                .build();
+
+        Mapper<EA, List<String>> inverse = mapper.inverse();
+
+        assertThat(inverse.map(EA.A)).containsExactlyInAnyOrder("a1", "a2");
+        assertThat(inverse.map(EA.B)).containsExactly("b");
+        assertThat(inverse.map(EA.C)).isEmpty();
+        assertThat(mapper.inverse()).isSameAs(inverse);
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> inverse.map(EA.A).add("a3"));
+    }
+
+    @Test
+    public void should_invert_enum_default_mapping_when_inverted_unique() throws Exception {
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .map(EA.A).to("a")
+                .map(EA.B).to("b")
+                .map(EA.C).withIllegalArgumentException()
+                .withDefault("d")
+                .build();
+
+        Mapper<String, EA> inverse = mapper.inverseUnique();
+
+        assertThat(inverse.map("a")).isEqualTo(EA.A);
+        assertThat(inverse.map("d")).isEqualTo(EA.D);
+        assertThat(mapper.inverseUnique()).isSameAs(inverse);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> inverse.map("c"));
+    }
+
+    @Test
+    public void should_throw_illegalstateexception_when_inverted_mapper_is_not_one_to_one() throws Exception {
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .map(EA.A, EA.B).to("ab")
+                .build();
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(mapper::inverseUnique)
+                .withMessage("Mapper is not one-to-one, [A, B] are mapped to ab.");
+    }
+
+    @Test
+    public void should_throw_illegalstateexception_when_inverted_mapper_is_not_constant_only() throws Exception {
+        Mapper<EA, String> mapper = Mapper.builder(EA.class, String.class)
+                .withDefault(EA::name)
+                .mapNull().to(null)
+                .build();
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(mapper::inverse);
+    }
+}
@@ -0,0 +1,124 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class MapperWarmupTest {
+
+    private enum Color {
+        RED, GREEN, BLUE
+    }
+
+    public static class Mappers {
+
+        static final AtomicInteger RED_CALLS = new AtomicInteger();
+
+        static final Mapper<Color, String> COLOR = Mapper.builder(Color.class, String.class)
+                .map(Color.RED).with(color -> {
+                    RED_CALLS.incrementAndGet();
+                    return "red";
+                })
+                .withDefault("other")
+                .withMetrics()
+                .build();
+    }
+
+    @Test
+    public void should_exercise_static_null_and_default_mappings_without_counting_calls() throws Exception {
+        AtomicInteger oneCalls = new AtomicInteger();
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("one").with(in -> oneCalls.incrementAndGet())
+                .mapNull().withIllegalArgumentException()
+                .withDefault(0)
+                .withMetrics()
+                .build();
+
+        CompletableFuture<Void> ready = new MapperWarmup().add(mapper).iterations(100).start();
+        ready.get(10, TimeUnit.SECONDS);
+
+        assertThat(oneCalls.get()).isEqualTo(100);
+        assertThat(mapper.getCallCount()).isEqualTo(0L);
+        mapper.map("one");
+        assertThat(mapper.getCallCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_warm_up_mapper_fields_of_loaded_classes() throws Exception {
+        MapperWarmup warmup = new MapperWarmup(Runnable::run)
+                .addClasses(Mappers.class.getName())
+                .iterations(10);
+
+        warmup.start().get(10, TimeUnit.SECONDS);
+
+        assertThat(warmup.getReady().isDone()).isEqualTo(true);
+        assertThat(Mappers.RED_CALLS.get()).isEqualTo(10);
+        assertThat(Mappers.COLOR.getCallCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_complete_exceptionally_when_class_does_not_exist() throws Exception {
+        CompletableFuture<Void> ready = new MapperWarmup(Runnable::run).addClasses("net.courtanet.Missing").start();
+
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> ready.get(10, TimeUnit.SECONDS))
+                .withMessageContaining("net.courtanet.Missing");
+    }
+
+    @Test
+    public void should_not_call_default_function_with_unmapped_enum_constants() throws Exception {
+        AtomicInteger defaultCalls = new AtomicInteger();
+        Mapper<Color, String> mapper = Mapper.builder(Color.class, String.class)
+                .map(Color.RED).to("red")
+                .withDefault(color -> {
+                    defaultCalls.incrementAndGet();
+                    return "other";
+                })
+                .mapNull().to("none")
+                .withMetrics()
+                .build();
+
+        new MapperWarmup(Runnable::run).add(mapper).iterations(100).start().get(10, TimeUnit.SECONDS);
+
+        assertThat(defaultCalls.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_warm_up_other_mappers_when_mapping_function_fails() throws Exception {
+        Mapper<String, Integer> failing = Mapper.builder(String.class, Integer.class)
+                .map("broken").with(in -> {
+                    throw new IllegalStateException("broken mapping");
+                })
+                .withMetrics()
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+        Mapper<String, Integer> working = Mapper.builder(String.class, Integer.class)
+                .map("one").with(in -> calls.incrementAndGet())
+                .build();
+
+        CompletableFuture<Void> ready = new MapperWarmup(Runnable::run).add(failing).add(working).iterations(10)
+                .start();
+        ready.get(10, TimeUnit.SECONDS);
+
+        assertThat(ready.isCompletedExceptionally()).isEqualTo(false);
+        assertThat(calls.get()).isEqualTo(10);
+        assertThat(failing.getCallCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_skip_adaptive_mapper_until_specialized() throws Exception {
+        Mapper<String, Integer> mapper = Mapper.builder(String.class, Integer.class)
+                .map("one").to(1)
+                .adaptive()
+                .build();
+
+        new MapperWarmup(Runnable::run).add(mapper).start().get(10, TimeUnit.SECONDS);
+
+        assertThat(((AdaptiveTable<String, Integer>) mapper.getTable()).isSpecialized()).isEqualTo(false);
+    }
+}
@@ -0,0 +1,75 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.*;
+
+import org.junit.Test;
+
+public class MultiValueMapperTest {
+
+    private enum Product {
+        CAR, HOME, PET, BIKE
+    }
+
+    private enum Guarantee {
+        THEFT, FIRE, GLASS, CIVIL
+    }
+
+    private static final MultiValueMapper<Product, Guarantee> GUARANTEES = Mapper
+            .multiValue(Product.class, Guarantee.class)
+            .map(Product.CAR).toAll(Guarantee.CIVIL, Guarantee.THEFT, Guarantee.GLASS)
+            .map(Product.HOME).toAll(Guarantee.FIRE, Guarantee.THEFT)
+            .map(Product.BIKE).toAll(Guarantee.CIVIL, Guarantee.THEFT, Guarantee.GLASS)
+            .map(Product.PET).toNone()
+            .mapNull().withIllegalArgumentException()
+            .build();
+
+    @Test
+    public void should_return_shared_immutable_views_when_mapping() throws Exception {
+        List<Guarantee> car = GUARANTEES.map(Product.CAR);
+
+        assertThat(car).containsExactly(Guarantee.CIVIL, Guarantee.THEFT, Guarantee.GLASS);
+        assertThat(GUARANTEES.map(Product.CAR)).isSameAs(car);
+        assertThat(GUARANTEES.map(Product.BIKE)).isSameAs(car);
+        assertThat(GUARANTEES.map(Product.PET)).isEmpty();
+        assertThat(GUARANTEES.getValueCount()).isEqualTo(5);
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> car.add(Guarantee.FIRE));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> GUARANTEES.map(null));
+    }
+
+    @Test
+    public void should_return_enum_set_when_output_is_enum() throws Exception {
+        Set<Guarantee> home = GUARANTEES.mapToSet(Product.HOME);
+
+        assertThat(home).containsExactly(Guarantee.THEFT, Guarantee.FIRE);
+        assertThat(GUARANTEES.mapToSet(Product.HOME)).isSameAs(home);
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> home.add(Guarantee.GLASS));
+    }
+
+    @Test
+    public void should_iterate_mapped_values_without_view() throws Exception {
+        List<Guarantee> visited = new ArrayList<>();
+
+        GUARANTEES.forEachMapped(Product.HOME, visited::add);
+
+        assertThat(visited).containsExactly(Guarantee.FIRE, Guarantee.THEFT);
+    }
+
+    @Test
+    public void should_map_unmapped_values_when_unmapped_policy_is_defined() throws Exception {
+        MultiValueMapper<String, Integer> mapper = Mapper.multiValue(String.class, Integer.class)
+                .map("a", "b").toAll(Arrays.asList(1, 2))
+                .map("x").withIllegalArgumentException()
+                .unmappedToAll(0)
+                .mapNull().toNone()
+                .build();
+
+        assertThat(mapper.map("a")).containsExactly(1, 2);
+        assertThat(mapper.map("z")).containsExactly(0);
+        assertThat(mapper.map(null)).isEmpty();
+        assertThat(mapper.mapToSet("b")).containsExactly(1, 2);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map("x"));
+    }
+}
@@ -0,0 +1,64 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.Test;
+
+public class NameMapperBuilderTest {
+
+    private enum Source {
+        A, B, C, LEGACY
+    }
+
+    private enum Target {
+        C, B, A, OTHER
+    }
+
+    @Test
+    public void should_map_constants_with_same_name() throws Exception {
+        Mapper<Source, Target> mapper = Mapper.byName(Source.class, Target.class)
+                .except(Source.LEGACY).to(Target.OTHER)
+                .build();
+
+        assertThat(mapper.map(Source.A)).isEqualTo(Target.A);
+        assertThat(mapper.map(Source.B)).isEqualTo(Target.B);
+        assertThat(mapper.map(Source.C)).isEqualTo(Target.C);
+        assertThat(mapper.map(Source.LEGACY)).isEqualTo(Target.OTHER);
+        assertThat(mapper.getMappings()).hasSize(4);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map(null));
+    }
+
+    @Test
+    public void should_map_overrides_before_names() throws Exception {
+        Mapper<Source, Target> mapper = Mapper.byName(Source.class, Target.class)
+                .except(Source.A, Source.B).to(null)
+                .except(Source.C).withIllegalArgumentException()
+                .unmatchedTo(Target.OTHER)
+                .mapNull().to(Target.OTHER)
+                .build();
+
+        assertThat(mapper.map(Source.A)).isNull();
+        assertThat(mapper.map(Source.B)).isNull();
+        assertThat(mapper.map(Source.LEGACY)).isEqualTo(Target.OTHER);
+        assertThat(mapper.map(null)).isEqualTo(Target.OTHER);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map(Source.C));
+    }
+
+    @Test
+    public void should_throw_illegalargumentexception_when_unmatched_policy_is_unsupported() throws Exception {
+        Mapper<Source, Target> mapper = Mapper.byName(Source.class, Target.class)
+                .unmatchedWithIllegalArgumentException()
+                .build();
+
+        assertThat(mapper.map(Source.A)).isEqualTo(Target.A);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> mapper.map(Source.LEGACY));
+    }
+
+    @Test
+    public void should_throw_illegalstateexception_when_names_drift() throws Exception {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> Mapper.byName(Source.class, Target.class).build())
+                .withMessageContaining("LEGACY");
+    }
+}
@@ -0,0 +1,97 @@
+package net.courtanet.config.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.Serializable;
+
+import org.junit.Test;
+
+public class TypeMapperTest {
+
+    private static class Event {
+    }
+
+    private static class UserEvent extends Event {
+    }
+
+    private static class LoginEvent extends UserEvent {
+
+        String login() {
+            return "login";
+        }
+    }
+
+    private static class AuditedEvent extends Event implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static class AuditedUserEvent extends UserEvent implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Test
+    public void should_map_with_most_specific_registered_supertype() throws Exception {
+        TypeMapper<Event, String> mapper = Mapper.byType(Event.class, String.class)
+                .map(Event.class).to("event")
+                .map(LoginEvent.class).with(LoginEvent::login)
+                .map(UserEvent.class).to("user")
+                .build();
+
+        assertThat(mapper.map(new Event())).isEqualTo("event");
+        assertThat(mapper.map(new UserEvent())).isEqualTo("user");
+        assertThat(mapper.map(new LoginEvent())).isEqualTo("login");
+        assertThat(mapper.map(new AuditedEvent())).isEqualTo("event");
+        assertThat(mapper.map(new LoginEvent() {
+        })).isEqualTo("login");
+    }
+
+    @Test
+    public void should_map_with_registered_interface() throws Exception {
+        TypeMapper<Object, String> mapper = Mapper.byType(Object.class, String.class)
+                .map(Object.class).to("object")
+                .map(Serializable.class).to("serializable")
+                .build();
+
+        assertThat(mapper.map(new AuditedEvent())).isEqualTo("serializable");
+        assertThat(mapper.map(new UserEvent())).isEqualTo("object");
+    }
+
+    @Test
+    public void should_throw_illegalargumentexception_when_registered_types_are_ambiguous() throws Exception {
+        TypeMapper<Object, String> mapper = Mapper.byType(Object.class, String.class)
+                .map(UserEvent.class).to("user")
+                .map(Serializable.class).to("serializable")
+                .build();
+
+        assertThat(mapper.map(new UserEvent())).isEqualTo("user");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> mapper.map(new AuditedUserEvent()))
+                .withMessageContaining("Ambiguous mapping");
+    }
+
+    @Test
+    public void should_map_with_default_and_null_mappings() throws Exception {
+        TypeMapper<Event, String> mapper = Mapper.byType(Event.class, String.class)
+                .map(UserEvent.class).to("user")
+                .withDefault(event -> event.getClass().getSimpleName())
+                .mapNull().to("none")
+                .build();
+        TypeMapper<Event, String> withoutDefault = Mapper.byType(Event.class, String.class)
+                .map(UserEvent.class).to("user")
+                .build();
+
+        assertThat(mapper.map(new AuditedEvent())).isEqualTo("AuditedEvent");
+        assertThat(mapper.map(null)).isEqualTo("none");
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> withoutDefault.map(new Event()));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> withoutDefault.map(null));
+    }
+
+    @Test
+    public void should_throw_illegalstateexception_when_no_mapping_provided() throws Exception {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> Mapper.byType(Event.class, String.class).build());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.devtools;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import net.courtanet.devtools.mapper.EnumMatcher;
+import net.courtanet.devtools.mapper.MapperUtils;
+
+/**
+ * Scaling of {@link EnumMatcher} with the number of constants, generated with names close to each other as in
+ * generated enums.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EnumMatcherBenchmark {
+
+    private static final String[] WORDS = {
+            "AUTO", "HOME", "RISK", "FIRE", "THEFT", "GLASS", "LEGAL", "CIVIL", "DRIVER", "PET", "HEALTH", "LIFE",
+            "LOAN", "TRAVEL", "BIKE", "CONTENT", "WATER", "DAMAGE", "ASSIST", "OPTION"
+    };
+
+    @Param({ "100", "500", "2000" })
+    public int size;
+
+    @Param({ "exhaustive", "pruned", "parallel", "optimal" })
+    public String mode;
+
+    private List<String> inNames;
+
+    private List<String> outNames;
+
+    private EnumMatcher matcher;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        inNames = new ArrayList<>(size);
+        outNames = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + "_" + WORDS[random.nextInt(WORDS.length)] + "_" + i;
+            inNames.add(name);
+            outNames.add(name.replace("_", "") + (i % 3 == 0 ? "_X" : ""));
+        }
+        Collections.shuffle(outNames, random);
+        matcher = new EnumMatcher(MapperUtils.AUTO_MAPPING_THRESHOLD);
+        switch (mode) {
+            case "exhaustive":
+                matcher.withMaxCandidates(0).withPool(null);
+                break;
+            case "pruned":
+                matcher.withPool(null);
+                break;
+            case "parallel":
+                break;
+            case "optimal":
+                matcher.withOptimalAssignment(true);
+                break;
+            default:
+                throw new IllegalArgumentException("not supported");
+        }
+    }
+
+    @Benchmark
+    public EnumMatcher.Matches match() {
+        return matcher.match(inNames, outNames);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(EnumMatcherBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
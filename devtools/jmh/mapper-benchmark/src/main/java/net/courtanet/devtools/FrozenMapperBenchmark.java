@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.devtools;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import net.courtanet.config.type.FrozenMapper;
+import net.courtanet.config.type.Mapper;
+
+/**
+ * Cold creation of large constant mappers, with {@link Mapper.MapperBuilder} and from their frozen form as written
+ * by generated holder classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class FrozenMapperBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    private String[] keys;
+
+    private Integer[] values;
+
+    @Setup
+    public void setup() {
+        keys = new String[size];
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "CODE_" + i;
+            values[i] = i % 64;
+        }
+    }
+
+    @Benchmark
+    public Mapper<String, Integer> builder() {
+        Mapper.MapperBuilder<String, Integer> builder = Mapper.builder(String.class, Integer.class);
+        for (int i = 0; i < size; i++) {
+            builder.map(keys[i]).to(values[i]);
+        }
+        return builder.mapNull().withIllegalArgumentException().build();
+    }
+
+    @Benchmark
+    public Mapper<String, Integer> restore() {
+        return FrozenMapper.restore(String.class, Integer.class, keys, values, new String[0],
+                FrozenMapper.NULL_UNSUPPORTED, null, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(FrozenMapperBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
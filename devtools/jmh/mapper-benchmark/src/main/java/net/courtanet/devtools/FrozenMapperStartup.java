@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.devtools;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.tools.ToolProvider;
+
+import net.courtanet.config.type.Mapper;
+import net.courtanet.devtools.mapper.MapperUtils;
+
+/**
+ * Startup time of a generated frozen holder class, measured in fresh JVMs: without class data sharing, with the
+ * default CDS archive of the JDK, and with an application CDS archive containing the holder class.
+ * JMH forks do not isolate class loading and verification from the JDK archive, hence the separate launcher.
+ * Application archives are dumped with {@code -XX:ArchiveClassesAtExit}, available from JDK 13, and only accept
+ * jar files in the class path: run from the shaded benchmarks jar.
+ * <p>
+ * Usage: {@code FrozenMapperStartup [size] [runs]}, printing the median holder initialization time and the
+ * median process time of each configuration.
+ */
+public final class FrozenMapperStartup {
+
+    private static final String HOLDER = "net.courtanet.devtools.startup.FrozenHolder";
+
+    private FrozenMapperStartup() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        final int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final Path dir = Files.createTempDirectory("frozen-startup");
+        final String classPath = compileHolder(dir, size);
+        final Path archive = dir.resolve("holder.jsa");
+        launch(classPath, "-XX:ArchiveClassesAtExit=" + archive);
+
+        measure("no sharing", classPath, runs, "-Xshare:off");
+        measure("default CDS", classPath, runs, "-Xshare:auto");
+        measure("application CDS", classPath, runs, "-XX:SharedArchiveFile=" + archive);
+    }
+
+    private static String compileHolder(Path dir, int size) throws IOException {
+        final Mapper.MapperBuilder<String, Integer> builder = Mapper.builder(String.class, Integer.class);
+        for (int i = 0; i < size; i++) {
+            builder.map("CODE_" + i).to(i % 64);
+        }
+        final Mapper<String, Integer> mapper = builder.mapNull().withIllegalArgumentException().build();
+        final Path source = dir.resolve("FrozenHolder.java");
+        Files.write(source, MapperUtils.writeFrozenHolder(mapper, "net.courtanet.devtools.startup", "FrozenHolder")
+                .getBytes(StandardCharsets.UTF_8));
+        if (ToolProvider.getSystemJavaCompiler().run(null, null, null, "-classpath",
+                System.getProperty("java.class.path"), "-d", dir.toString(), source.toString()) != 0) {
+            throw new IllegalStateException("Unable to compile " + source);
+        }
+        final String entry = HOLDER.replace('.', '/') + ".class";
+        final Path jar = dir.resolve("holder.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            output.putNextEntry(new JarEntry(entry));
+            output.write(Files.readAllBytes(dir.resolve(entry)));
+            output.closeEntry();
+        }
+        return jar + File.pathSeparator + System.getProperty("java.class.path");
+    }
+
+    private static void measure(String label, String classPath, int runs, String option)
+            throws IOException, InterruptedException {
+        final long[] holderNanos = new long[runs];
+        final long[] processNanos = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            final long start = System.nanoTime();
+            holderNanos[run] = launch(classPath, option);
+            processNanos[run] = System.nanoTime() - start;
+        }
+        System.out.printf("%-16s holder %8d us, process %8d us%n", label, median(holderNanos) / 1000,
+                median(processNanos) / 1000);
+    }
+
+    private static long launch(String classPath, String option) throws IOException, InterruptedException {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final Process process = new ProcessBuilder(java, option, "-cp", classPath, Launch.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        if (process.waitFor() != 0 || lines.isEmpty()) {
+            throw new IllegalStateException("Launch with " + option + " failed: " + lines);
+        }
+        return Long.parseLong(lines.get(lines.size() - 1).trim());
+    }
+
+    private static long median(long[] values) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Entry point of launched JVMs, printing the nanoseconds elapsed initializing the holder class.
+     */
+    public static final class Launch {
+
+        private Launch() {
+        }
+
+        public static void main(String[] args) throws Exception {
+            final long start = System.nanoTime();
+            final Mapper<?, ?> mapper = (Mapper<?, ?>) Class.forName(HOLDER).getField("MAPPER").get(null);
+            final long elapsed = System.nanoTime() - start;
+            if (mapper.getMappings().isEmpty()) {
+                throw new IllegalStateException("Holder mapper is empty.");
+            }
+            System.out.println(elapsed);
+        }
+    }
+}
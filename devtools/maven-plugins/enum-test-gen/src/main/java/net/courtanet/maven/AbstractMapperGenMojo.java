@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.maven;
+
+import static net.courtanet.maven.MapperTestGenMojo.getMappersFromFields;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import org.apache.maven.plugins.annotations.Parameter;
+
+import net.courtanet.config.type.Mapper;
+
+/**
+ * Base of goals generating a source file for each static {@link Mapper} field of test classes.
+ * <p>
+ * Classes declaring mapper fields are initialized one at a time, in the calling thread: static initializers of
+ * classes referencing each other could deadlock when initialized concurrently. Only the generation of the source
+ * files, from the mappers found, runs in parallel.
+ */
+abstract class AbstractMapperGenMojo extends EnumTestGenMojo {
+
+    /**
+     * Number of threads generating source files, {@code 0} for the number of available processors.
+     */
+    @Parameter(property = "mapperGen.threads", defaultValue = "0")
+    int threads;
+
+    /**
+     * Find the static mapper fields of the given classes, initializing classes declaring one, one at a time.
+     *
+     * @param classes     names of classes to scan
+     * @param classLoader class loader of test classes
+     * @return mapper fields, in class order
+     */
+    List<MapperField> findMapperFields(List<String> classes, ClassLoader classLoader) {
+        final List<MapperField> fields = new ArrayList<>();
+        for (String className : classes) {
+            try {
+                final byte[] classBytes = MapperFieldScanner.readClass(className, classLoader);
+                if (!MapperFieldScanner.declaresMapperField(classBytes)) {
+                    continue;
+                }
+                final Class<?> clazz = Class.forName(className, true, classLoader);
+                final Map<String, Mapper> mappers = getMappersFromFields(clazz);
+                if (!mappers.isEmpty()) {
+                    getLog().info("Mappers found in class " + clazz.getCanonicalName());
+                }
+                mappers.forEach((fieldName, mapper) -> fields.add(new MapperField(clazz, classBytes, fieldName,
+                        mapper)));
+            } catch (ClassNotFoundException e) {
+                getLog().warn("ignoring generation for class " + className, e);
+            } catch (Throwable t) {
+                getLog().warn("ignoring generation for class " + className, t);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @param fields    mapper fields to generate a source file for
+     * @param generator generator of the source file of a mapper field
+     */
+    void generate(List<MapperField> fields, Consumer<MapperField> generator) {
+        final ForkJoinPool pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        try {
+            pool.submit(() -> fields.parallelStream().forEach(generator)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Static mapper field of an initialized class.
+     */
+    static final class MapperField {
+
+        final Class<?> clazz;
+
+        final byte[] classBytes;
+
+        final String name;
+
+        final Mapper mapper;
+
+        MapperField(Class<?> clazz, byte[] classBytes, String name, Mapper mapper) {
+            this.clazz = clazz;
+            this.classBytes = classBytes;
+            this.name = name;
+            this.mapper = mapper;
+        }
+    }
+}
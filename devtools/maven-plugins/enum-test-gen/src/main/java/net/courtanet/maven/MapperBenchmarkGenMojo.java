@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.maven;
+
+import static net.courtanet.maven.MapperTestGenMojo.formatValue;
+import static net.courtanet.maven.MapperTestGenMojo.toCamelCase;
+import static org.apache.maven.plugins.annotations.LifecyclePhase.GENERATE_TEST_SOURCES;
+import static org.apache.maven.plugins.annotations.ResolutionScope.TEST;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLClassLoader;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.text.WordUtils;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import net.courtanet.config.macro.MacroProcessor;
+import net.courtanet.config.macro.PropertyParsingException;
+import net.courtanet.config.type.Mapper;
+
+/**
+ * Generates a JMH benchmark for each static {@link Mapper} field, found as in {@link MapperTestGenMojo}.
+ * Benchmarks map the values of the mapper static mappings, values without static mapping, values throwing an
+ * exception, such as an {@link IllegalArgumentException} for unsupported values, and {@code null}.
+ */
+@Mojo(name = "generate-mapper-benchmark", defaultPhase = GENERATE_TEST_SOURCES, threadSafe = true,
+        requiresDependencyResolution = TEST)
+public final class MapperBenchmarkGenMojo extends AbstractMapperGenMojo {
+
+    private static final String TEMPLATE = "MapperBenchmark.template";
+
+    private static final String UNMAPPED_STRING = "<unmapped>";
+
+    @Override
+    protected void processTestClasses(List<String> classes, URLClassLoader classLoader) {
+        final String template = readTemplate();
+        generate(findMapperFields(classes, classLoader), field -> processMapperField(field, template));
+    }
+
+    private void processMapperField(MapperField field, String template) {
+        final Class<?> clazz = field.clazz;
+        final String fieldName = field.name;
+        try {
+            final List<Object> values = benchmarkValues(field.mapper);
+            if (values == null) {
+                getLog().info(field.mapper.getInType().getSimpleName() + " mapping Skipped");
+                return;
+            }
+            final File outputFile = new File(outputDirectory, getOutputFile(clazz, fieldName));
+            createParentFolder(outputFile);
+            final String benchmarkClass = formatBenchmarkClass(template, clazz, fieldName, field.mapper, values);
+            try (FileOutputStream output = new FileOutputStream(outputFile)) {
+                IOUtils.write(benchmarkClass, output, "UTF-8");
+            }
+            getLog().info("written : " + outputFile.getAbsolutePath());
+        } catch (Throwable t) {
+            getLog().warn("ignoring benchmark generation for class " + clazz.getName() + " field " + fieldName, t);
+        }
+    }
+
+    static String readTemplate() {
+        try (InputStream input = MapperBenchmarkGenMojo.class.getResourceAsStream(TEMPLATE)) {
+            return IOUtils.toString(input, "UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to read template " + TEMPLATE, e);
+        }
+    }
+
+    /**
+     * @return non null values to benchmark, {@code null} when values of the input type can not be enumerated
+     */
+    static List<Object> benchmarkValues(Mapper mapper) {
+        final Class inType = mapper.getInType();
+        if (inType.isEnum()) {
+            return Arrays.asList(inType.getEnumConstants());
+        } else if (String.class.isAssignableFrom(inType)) {
+            final List<Object> values = new ArrayList<>(mapper.getMappings().keySet());
+            String unmapped = UNMAPPED_STRING;
+            while (values.contains(unmapped)) {
+                unmapped = unmapped + "_";
+            }
+            values.add(unmapped);
+            return values;
+        }
+        return null;
+    }
+
+    String formatBenchmarkClass(String template, Class clazz, String fieldName, Mapper mapper,
+            List<Object> values) throws IOException, PropertyParsingException {
+        final Class inType = mapper.getInType();
+        final Set keys = mapper.getMappings().keySet();
+        final List<Object> mapped = new ArrayList<>();
+        final List<Object> unmapped = new ArrayList<>();
+        final List<Object> unsupported = new ArrayList<>();
+        for (Object in : values) {
+            try {
+                mapper.map(in);
+                (keys.contains(in) ? mapped : unmapped).add(in);
+            } catch (RuntimeException e) {
+                unsupported.add(in);
+            }
+        }
+        final Map<String, Object> params = new HashMap<>();
+        params.put("package.name", clazz.getPackage().getName());
+        params.put("in.class.name", fqcn(clazz));
+        params.put("in.fieldName", fieldName);
+        params.put("in.type", fqcn(inType));
+        params.put("instance", fqcn(clazz) + '.' + fieldName);
+        params.put("target.class.name", targetClassName(clazz, fieldName));
+        params.put("mapped.values", formatValues(inType, mapped));
+        params.put("unmapped.values", formatValues(inType, unmapped));
+        params.put("unsupported.values", formatValues(inType, unsupported));
+        return MacroProcessor.replaceProperties(template, params, 5);
+    }
+
+    private static String formatValues(Class<?> type, List<Object> values) {
+        return values.stream().map(value -> formatValue(type, value)).collect(Collectors.joining(", "));
+    }
+
+    private static String targetClassName(Class<?> clazz, String fieldName) {
+        return clazz.getSimpleName() + WordUtils.capitalize(toCamelCase(fieldName)) + "MappingBenchmark";
+    }
+
+    private String getOutputFile(Class<?> clazz, String fieldName) {
+        return clazz.getPackage().getName().replace('.', File.separatorChar) + File.separatorChar
+                + targetClassName(clazz, fieldName) + extension;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.maven;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import net.courtanet.config.type.Mapper;
+
+/**
+ * Finds static {@link Mapper} fields in class bytes, without loading nor initializing the class.
+ */
+final class MapperFieldScanner {
+
+    private static final String MAPPER_DESCRIPTOR = Type.getDescriptor(Mapper.class);
+
+    private MapperFieldScanner() {
+    }
+
+    /**
+     * @param className   class name
+     * @param classLoader class loader to read the class file from
+     * @return bytes of the class file, empty when the class file is not found
+     * @throws IOException when the class file can not be read.
+     */
+    static byte[] readClass(String className, ClassLoader classLoader) throws IOException {
+        try (InputStream input = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            return input == null ? new byte[0] : IOUtils.toByteArray(input);
+        }
+    }
+
+    /**
+     * @param classBytes bytes of the class file
+     * @return {@code true} when the class declares a static field of type {@link Mapper}, or when the bytes can not
+     * be read as a class file.
+     */
+    static boolean declaresMapperField(byte[] classBytes) {
+        if (classBytes.length == 0) {
+            return true;
+        }
+        final boolean[] found = { false };
+        try {
+            new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public FieldVisitor visitField(int access, String name, String descriptor, String signature,
+                        Object value) {
+                    if ((access & Opcodes.ACC_STATIC) != 0 && MAPPER_DESCRIPTOR.equals(descriptor)) {
+                        found[0] = true;
+                    }
+                    return null;
+                }
+            }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (RuntimeException e) {
+            return true;
+        }
+        return found[0];
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.maven;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.courtanet.config.type.Mapper;
+
+/**
+ * Content hash of the inputs of each generated mapper test: bytes of the class defining the mapper, and mapping of
+ * each tested value. A test is generated again only when its hash changed or its file is missing.
+ * Only the hashes of tests generated or checked during the build are saved.
+ */
+final class MapperTestCache {
+
+    static final String FILE_NAME = ".mapper-test-gen.cache";
+
+    /** Version of the generated tests, to increase when templates change. */
+    private static final String VERSION = "1";
+
+    private final File file;
+
+    private final Properties previous;
+
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+
+    private MapperTestCache(File file, Properties previous) {
+        this.file = file;
+        this.previous = previous;
+    }
+
+    static MapperTestCache load(File file) {
+        final Properties previous = new Properties();
+        if (file.isFile()) {
+            try (InputStream input = new FileInputStream(file)) {
+                previous.load(input);
+            } catch (IOException e) {
+                previous.clear();
+            }
+        }
+        return new MapperTestCache(file, previous);
+    }
+
+    /**
+     * @param outputPath path of the generated test
+     * @param hash       hash of the test inputs
+     * @param outputFile generated test file
+     * @return {@code true} when the test has already been generated with the same inputs
+     */
+    boolean isUpToDate(String outputPath, String hash, File outputFile) {
+        if (hash.equals(previous.getProperty(outputPath)) && outputFile.isFile()) {
+            current.put(outputPath, hash);
+            return true;
+        }
+        return false;
+    }
+
+    void put(String outputPath, String hash) {
+        current.put(outputPath, hash);
+    }
+
+    void save() throws IOException {
+        final Properties properties = new Properties();
+        properties.putAll(current);
+        file.getParentFile().mkdirs();
+        try (OutputStream output = new FileOutputStream(file)) {
+            properties.store(output, "mapper test generation cache");
+        }
+    }
+
+    static String hash(byte[] classBytes, String fieldName, Mapper mapper, List<Object[]> cases) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, VERSION);
+        update(digest, String.valueOf(MapperTestCache.class.getPackage().getImplementationVersion()));
+        digest.update(classBytes);
+        update(digest, fieldName);
+        update(digest, mapper.getInType().getName());
+        update(digest, mapper.getOutType().getName());
+        for (Object[] mappingCase : cases) {
+            final Object in = mappingCase[0];
+            final Object out = mappingCase[1];
+            update(digest, String.valueOf(in));
+            if (out instanceof Throwable) {
+                update(digest, "throws " + out.getClass().getName());
+            } else {
+                update(digest, (out == null ? "" : out.getClass().getName()) + " " + out);
+            }
+            update(digest, String.valueOf(EnumTestGenMojo.isDeprecated(in) || EnumTestGenMojo.isDeprecated(out)));
+        }
+        final StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(UTF_8));
+        digest.update((byte) 0);
+    }
+
+    @Override
+    public String toString() {
+        return file.getAbsolutePath();
+    }
+}
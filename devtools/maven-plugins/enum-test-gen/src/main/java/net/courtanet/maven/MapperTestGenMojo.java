@@ -17,6 +17,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.text.WordUtils;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.jooq.lambda.Unchecked;
@@ -30,84 +31,84 @@ import net.courtanet.config.type.Mapper;
 
 @Mojo(name = "generate-mapper-test", defaultPhase = GENERATE_TEST_SOURCES, threadSafe = true,
         requiresDependencyResolution = TEST)
-public final class MapperTestGenMojo extends EnumTestGenMojo {
+public final class MapperTestGenMojo extends AbstractMapperGenMojo {
 
     public static final String TEMPLATE_KEY = "Mapper";
 
     @Override
     protected void processTestClasses(List<String> classes, URLClassLoader classLoader) {
-        for (String className : classes) {
-            try {
-                final Class<?> clazz = Class.forName(className, true, classLoader);
-                Map<String, Mapper> mappersFromFields = getMappersFromFields(clazz);
-                if (!mappersFromFields.isEmpty()) {
-                    getLog().info("Mappers found in class " + clazz.getCanonicalName());
-                    mappersFromFields.forEach((fieldName, mapper) -> {
-                        try {
-                            final StringBuilder builder = new StringBuilder();
-                            buildMethods(builder, clazz, fieldName, mapper);
-                            final File outputFile = new File(outputDirectory, getOutputFile(clazz, fieldName));
-                            createParentFolder(outputFile);
-                            final String testClass = formatTestClass(clazz, fieldName, builder.toString(), mapper);
-                            IOUtils.write(testClass, new FileOutputStream(outputFile), "UTF-8");
-                            getLog().info("written : " + outputFile.getAbsolutePath());
-                        } catch (Throwable t) {
-                            getLog().warn("ignoring test generation for class " + className + " field " + fieldName, t);
-                        }
-                    });
-                }
-            } catch (ClassNotFoundException e) {
-                getLog().warn("ignoring test generation for class " + className, e);
-            } catch (Throwable t) {
-                getLog().warn("ignoring test generation for class " + className);
+        final MapperTestCache cache = MapperTestCache.load(new File(outputDirectory, MapperTestCache.FILE_NAME));
+        generate(findMapperFields(classes, classLoader), field -> processMapperField(field, cache));
+        try {
+            cache.save();
+        } catch (IOException e) {
+            getLog().warn("unable to save mapper test cache " + cache, e);
+        }
+    }
+
+    private void processMapperField(MapperField field, MapperTestCache cache) {
+        final Class<?> clazz = field.clazz;
+        final String fieldName = field.name;
+        final Mapper mapper = field.mapper;
+        try {
+            final String outputPath = getOutputFile(clazz, fieldName);
+            final File outputFile = new File(outputDirectory, outputPath);
+            final List<Object[]> cases = buildCases(mapper);
+            final String hash = MapperTestCache.hash(field.classBytes, fieldName, mapper, cases);
+            if (cache.isUpToDate(outputPath, hash, outputFile)) {
+                getLog().debug("up to date : " + outputFile.getAbsolutePath());
+                return;
             }
+            final StringBuilder builder = new StringBuilder();
+            buildMethods(builder, clazz, fieldName, mapper, cases);
+            createParentFolder(outputFile);
+            final String testClass = formatTestClass(clazz, fieldName, builder.toString(), mapper);
+            try (FileOutputStream output = new FileOutputStream(outputFile)) {
+                IOUtils.write(testClass, output, "UTF-8");
+            }
+            cache.put(outputPath, hash);
+            getLog().info("written : " + outputFile.getAbsolutePath());
+        } catch (Throwable t) {
+            getLog().warn("ignoring test generation for class " + clazz.getName() + " field " + fieldName, t);
         }
     }
 
-    private void buildMethods(StringBuilder builder, Class definingClass, String fieldName, Mapper mapper)
-            throws IOException, PropertyParsingException {
+    /**
+     * @return input value and mapped value, or thrown exception, of each generated test method
+     */
+    private List<Object[]> buildCases(Mapper mapper) {
         Class inType = mapper.getInType();
+        final List<Object> values;
         if (inType.isEnum()) {
-            buildTestMethodsForEnum(builder, definingClass, fieldName, mapper);
+            values = new ArrayList<>(Arrays.asList(inType.getEnumConstants()));
         } else if (Integer.class.isAssignableFrom(inType)) {
             getLog().info("Integer mapping Skipped");
+            return Collections.emptyList();
         } else if (Boolean.class.isAssignableFrom(inType)) {
             getLog().info("Boolean mapping Skipped");
+            return Collections.emptyList();
         } else if (String.class.isAssignableFrom(inType)) {
-            buildTestMethodsForString(builder, definingClass, fieldName, mapper);
+            values = new ArrayList<>(mapper.getMappings().keySet());
+        } else {
+            return Collections.emptyList();
         }
-    }
-
-    private void buildTestMethodsForString(StringBuilder builder, Class clazz, String fieldName, Mapper mapper)
-            throws IOException, PropertyParsingException {
-        Map mappings = mapper.getMappings();
-        Set inStrings = mappings.keySet();
-        ArrayList values = new ArrayList(inStrings);
         values.add(null);
+        final List<Object[]> cases = new ArrayList<>(values.size());
         for (Object in : values) {
             try {
-                builder.append(formatTestMethod(clazz, fieldName,
-                        mapper.getOutType(), mapper.getInType(), mapper.map(in), in));
+                cases.add(new Object[] { in, mapper.map(in) });
             } catch (Throwable throwable) {
-                builder.append(formatTestMethod(clazz, fieldName,
-                        mapper.getOutType(), mapper.getInType(), throwable, in));
+                cases.add(new Object[] { in, throwable });
             }
         }
+        return cases;
     }
 
-    private void buildTestMethodsForEnum(StringBuilder builder, Class clazz, String fieldName, Mapper mapper)
-            throws IOException, PropertyParsingException {
-        Class inType = mapper.getInType();
-        ArrayList values = new ArrayList(Arrays.asList(inType.getEnumConstants()));
-        values.add(null);
-        for (Object in : values) {
-            try {
-                builder.append(formatTestMethod(clazz, fieldName,
-                        mapper.getOutType(), mapper.getInType(), mapper.map(in), in));
-            } catch (Throwable throwable) {
-                builder.append(formatTestMethod(clazz, fieldName,
-                        mapper.getOutType(), mapper.getInType(), throwable, in));
-            }
+    private void buildMethods(StringBuilder builder, Class definingClass, String fieldName, Mapper mapper,
+            List<Object[]> cases) throws IOException, PropertyParsingException {
+        for (Object[] mappingCase : cases) {
+            builder.append(formatTestMethod(definingClass, fieldName,
+                    mapper.getOutType(), mapper.getInType(), mappingCase[1], mappingCase[0]));
         }
     }
 
@@ -188,7 +189,7 @@ public final class MapperTestGenMojo extends EnumTestGenMojo {
         if (type.isEnum()) {
             return fqcn(type) + "." + nameOf(value);
         } else if (String.class.isAssignableFrom(type)) {
-            return "\"" + value + "\"";
+            return "\"" + StringEscapeUtils.escapeJava(String.valueOf(value)) + "\"";
         } else if (type.isPrimitive()) {
             return String.valueOf(value);
         }
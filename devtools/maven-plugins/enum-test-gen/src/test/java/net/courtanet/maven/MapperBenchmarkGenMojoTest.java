@@ -0,0 +1,86 @@
+package net.courtanet.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import net.courtanet.config.type.Mapper;
+
+public class MapperBenchmarkGenMojoTest {
+
+    enum Color {
+        RED, GREEN, BLUE, BLACK
+    }
+
+    static final Mapper<Color, String> COLOR_CODE = Mapper.builder(Color.class, String.class)
+            .map(Color.RED).to("r")
+            .map(Color.GREEN).to("g")
+            .map(Color.BLUE).withIllegalArgumentException()
+            .mapNull().to("none")
+            .withDefault("other")
+            .build();
+
+    static final Mapper<String, Integer> LABEL_LENGTH = Mapper.builder(String.class, Integer.class)
+            .map("say \"hi\"").to(8)
+            .map("back\\slash").withIllegalArgumentException()
+            .mapNull().to(0)
+            .withDefault(-1)
+            .build();
+
+    static final Mapper<Color, String> FAILING_CODE = Mapper.builder(Color.class, String.class)
+            .map(Color.RED).to("r")
+            .map(Color.GREEN).with(color -> {
+                throw new IllegalStateException("failing mapping");
+            })
+            .mapNull().to("none")
+            .withDefault("other")
+            .build();
+
+    private final MapperBenchmarkGenMojo mojo = new MapperBenchmarkGenMojo();
+
+    @Test
+    public void should_partition_enum_constants_when_format_benchmark_class() throws Exception {
+        final String benchmark = mojo.formatBenchmarkClass(MapperBenchmarkGenMojo.readTemplate(),
+                MapperBenchmarkGenMojoTest.class, "COLOR_CODE", COLOR_CODE,
+                MapperBenchmarkGenMojo.benchmarkValues(COLOR_CODE));
+
+        final String color = "net.courtanet.maven.MapperBenchmarkGenMojoTest.Color";
+        assertThat(benchmark)
+                .contains("package net.courtanet.maven;")
+                .contains("public class MapperBenchmarkGenMojoTestColorCodeMappingBenchmark {")
+                .contains("public " + color + "[] mapped = { " + color + ".RED, " + color + ".GREEN };")
+                .contains("public " + color + "[] unmapped = { " + color + ".BLACK };")
+                .contains("public " + color + "[] unsupported = { " + color + ".BLUE };")
+                .contains("net.courtanet.maven.MapperBenchmarkGenMojoTest.COLOR_CODE.map(value)")
+                .doesNotContain("${");
+    }
+
+    @Test
+    public void should_escape_string_keys_when_format_benchmark_class() throws Exception {
+        final String benchmark = mojo.formatBenchmarkClass(MapperBenchmarkGenMojo.readTemplate(),
+                MapperBenchmarkGenMojoTest.class, "LABEL_LENGTH", LABEL_LENGTH,
+                MapperBenchmarkGenMojo.benchmarkValues(LABEL_LENGTH));
+
+        assertThat(benchmark)
+                .contains("public class MapperBenchmarkGenMojoTestLabelLengthMappingBenchmark {")
+                .contains("public java.lang.String[] mapped = { \"say \\\"hi\\\"\" };")
+                .contains("public java.lang.String[] unmapped = { \"<unmapped>\" };")
+                .contains("public java.lang.String[] unsupported = { \"back\\\\slash\" };")
+                .doesNotContain("${");
+    }
+
+    @Test
+    public void should_benchmark_failing_values_as_unsupported_when_format_benchmark_class() throws Exception {
+        final String benchmark = mojo.formatBenchmarkClass(MapperBenchmarkGenMojo.readTemplate(),
+                MapperBenchmarkGenMojoTest.class, "FAILING_CODE", FAILING_CODE,
+                MapperBenchmarkGenMojo.benchmarkValues(FAILING_CODE));
+
+        final String color = "net.courtanet.maven.MapperBenchmarkGenMojoTest.Color";
+        assertThat(benchmark)
+                .contains("public " + color + "[] mapped = { " + color + ".RED };")
+                .contains("public " + color + "[] unmapped = { " + color + ".BLUE, " + color + ".BLACK };")
+                .contains("public " + color + "[] unsupported = { " + color + ".GREEN };")
+                .contains("} catch (RuntimeException e) {")
+                .doesNotContain("IllegalArgumentException e");
+    }
+}
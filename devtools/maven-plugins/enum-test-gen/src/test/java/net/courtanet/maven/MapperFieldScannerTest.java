@@ -0,0 +1,47 @@
+package net.courtanet.maven;
+
+import static net.courtanet.maven.MapperFieldScanner.declaresMapperField;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import net.courtanet.config.type.Mapper;
+
+public class MapperFieldScannerTest {
+
+    static class WithMapper {
+        static final Mapper<String, String> MAPPER = Mapper.builder(String.class, String.class)
+                .withDefault("")
+                .build();
+    }
+
+    static class WithInstanceMapper {
+        final Mapper<String, String> mapper = WithMapper.MAPPER;
+    }
+
+    static class WithoutMapper {
+        static final String VALUE = "";
+    }
+
+    @Test
+    public void should_find_static_mapper_field_without_loading_class() throws Exception {
+        assertThat(declaresMapperField(classBytes(WithMapper.class))).isTrue();
+        assertThat(declaresMapperField(classBytes(WithInstanceMapper.class))).isFalse();
+        assertThat(declaresMapperField(classBytes(WithoutMapper.class))).isFalse();
+    }
+
+    @Test
+    public void should_find_mapper_field_when_class_can_not_be_read() throws Exception {
+        assertThat(declaresMapperField(new byte[0])).isTrue();
+        assertThat(declaresMapperField(new byte[] { 1, 2, 3 })).isTrue();
+    }
+
+    private static byte[] classBytes(Class<?> clazz) throws Exception {
+        try (InputStream input = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+            return IOUtils.toByteArray(input);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.courtanet.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.courtanet.config.type.Mapper;
+
+public class MapperTestCacheTest {
+
+    private static final Mapper<ETemplate, String> MAPPER = Mapper.builder(ETemplate.class, String.class)
+            .withDefault(Enum::name)
+            .mapNull().to(null)
+            .build();
+
+    @Test
+    public void should_change_hash_when_mapping_changes() throws Exception {
+        byte[] classBytes = { 1, 2, 3 };
+        List<Object[]> cases = Collections.singletonList(new Object[] { ETemplate.MapperTest, "MapperTest" });
+        List<Object[]> otherCases = Collections.singletonList(new Object[] { ETemplate.MapperTest, "Other" });
+        List<Object[]> exceptionCases = Collections.singletonList(
+                new Object[] { ETemplate.MapperTest, new IllegalArgumentException() });
+
+        String hash = MapperTestCache.hash(classBytes, "MAPPER", MAPPER, cases);
+
+        assertThat(MapperTestCache.hash(classBytes, "MAPPER", MAPPER, cases)).isEqualTo(hash);
+        assertThat(MapperTestCache.hash(classBytes, "MAPPER", MAPPER, otherCases)).isNotEqualTo(hash);
+        assertThat(MapperTestCache.hash(classBytes, "MAPPER", MAPPER, exceptionCases)).isNotEqualTo(hash);
+        assertThat(MapperTestCache.hash(classBytes, "OTHER", MAPPER, cases)).isNotEqualTo(hash);
+        assertThat(MapperTestCache.hash(new byte[] { 1, 2 }, "MAPPER", MAPPER, cases)).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void should_be_up_to_date_when_hash_is_saved_and_test_exists() throws Exception {
+        File directory = Files.createTempDirectory("mapper-test-cache").toFile();
+        File cacheFile = new File(directory, MapperTestCache.FILE_NAME);
+        File testFile = new File(directory, "MapperTest.java");
+        Files.write(testFile.toPath(), Arrays.asList("class MapperTest {}"));
+
+        MapperTestCache cache = MapperTestCache.load(cacheFile);
+        assertThat(cache.isUpToDate("MapperTest.java", "hash", testFile)).isFalse();
+        cache.put("MapperTest.java", "hash");
+        cache.save();
+
+        MapperTestCache loaded = MapperTestCache.load(cacheFile);
+        assertThat(loaded.isUpToDate("MapperTest.java", "hash", testFile)).isTrue();
+        assertThat(loaded.isUpToDate("MapperTest.java", "other", testFile)).isFalse();
+        assertThat(loaded.isUpToDate("MapperTest.java", "hash", new File(directory, "Missing.java"))).isFalse();
+    }
+}
@@ -15,6 +15,8 @@ public class MapperTestGenMojoTest {
                 .isEqualTo("net.courtanet.maven.ETemplate.AssertTargetCodeValue");
         assertThat(formatValue(String.class, "aString"))
                 .isEqualTo("\"aString\"");
+        assertThat(formatValue(String.class, "a \"quoted\" back\\slash"))
+                .isEqualTo("\"a \\\"quoted\\\" back\\\\slash\"");
         assertThat(formatValue(Integer.class, 12345))
                 .isEqualTo("12345");
         assertThat(formatValue(Double.class, 12345.123))
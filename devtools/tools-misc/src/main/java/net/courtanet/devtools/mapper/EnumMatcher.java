@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package net.courtanet.devtools.mapper;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * EnumMatcher matches names of input constants with names of output constants by similarity.
+ * <p>
+ * Output names are indexed by trigram, and only the candidates sharing the most trigrams with an input name are
+ * scored, unless there are few output names. Scoring is spread over a {@link ForkJoinPool}. Each input name is
+ * matched with its best scoring candidate, or, with optimal assignment, input and output names are matched one to
+ * one so that the total score is maximal (Hungarian algorithm). Optimal assignment keeps the scores of candidate
+ * pairs only: memory grows with the number of input names times the number of candidates, not with the number of
+ * output names, unless every output name is scored.
+ */
+public class EnumMatcher {
+
+    /** Number of output names under which every output name is scored. */
+    public static final int EXHAUSTIVE_SIZE = 64;
+
+    /** Default number of candidates scored for an input name. */
+    public static final int DEFAULT_MAX_CANDIDATES = 32;
+
+    private static final int GRAM = 3;
+
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final double threshold;
+
+    private int maxCandidates = DEFAULT_MAX_CANDIDATES;
+
+    private int exhaustiveSize = EXHAUSTIVE_SIZE;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private boolean optimalAssignment = false;
+
+    /**
+     * @param threshold minimal similarity score for two names to match
+     */
+    public EnumMatcher(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param maxCandidates number of candidates scored for an input name, {@code 0} to score every output name
+     * @return this matcher
+     */
+    public EnumMatcher withMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+        return this;
+    }
+
+    /**
+     * @param exhaustiveSize number of output names under which every output name is scored
+     * @return this matcher
+     */
+    EnumMatcher withExhaustiveSize(int exhaustiveSize) {
+        this.exhaustiveSize = exhaustiveSize;
+        return this;
+    }
+
+    /**
+     * @param pool pool to score names on, {@code null} to score names in the calling thread
+     * @return this matcher
+     */
+    public EnumMatcher withPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * @param optimalAssignment {@code true} to match names one to one maximizing the total score
+     * @return this matcher
+     */
+    public EnumMatcher withOptimalAssignment(boolean optimalAssignment) {
+        this.optimalAssignment = optimalAssignment;
+        return this;
+    }
+
+    /**
+     * @return minimal similarity score for two names to match
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Match input names with output names.
+     *
+     * @param inNames  input names
+     * @param outNames output names
+     * @return matches, by input name index
+     */
+    public Matches match(List<String> inNames, List<String> outNames) {
+        final int[] matched = new int[inNames.size()];
+        final double[] scores = new double[inNames.size()];
+        Arrays.fill(matched, -1);
+        if (inNames.isEmpty() || outNames.isEmpty()) {
+            return new Matches(matched, scores);
+        }
+        final boolean exhaustive = maxCandidates <= 0 || outNames.size() <= exhaustiveSize;
+        final Map<String, int[]> index = exhaustive ? Collections.emptyMap() : index(outNames);
+        final int[][] scoredCandidates = optimalAssignment ? new int[inNames.size()][] : null;
+        final double[][] candidateScores = optimalAssignment ? new double[inNames.size()][] : null;
+        run(inNames.size(), i -> {
+            final String inName = inNames.get(i);
+            final int[] candidates = exhaustive
+                    ? IntStream.range(0, outNames.size()).toArray()
+                    : candidates(gramsOf(inName), index, outNames.size());
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            if (candidateScores != null) {
+                scoredCandidates[i] = candidates;
+                candidateScores[i] = new double[candidates.length];
+            }
+            for (int c = 0; c < candidates.length; c++) {
+                final int candidate = candidates[c];
+                final double score = MapperUtils.getDistance(inName, outNames.get(candidate));
+                if (candidateScores != null) {
+                    candidateScores[i][c] = score;
+                }
+                if (score > bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            matched[i] = best;
+            scores[i] = bestScore;
+        });
+        if (optimalAssignment) {
+            assign(scoredCandidates, candidateScores, outNames.size(), matched, scores);
+        }
+        for (int i = 0; i < matched.length; i++) {
+            if (matched[i] >= 0 && scores[i] <= threshold) {
+                matched[i] = -1;
+            }
+        }
+        return new Matches(matched, scores);
+    }
+
+    private void run(int size, IntConsumer task) {
+        if (pool == null) {
+            IntStream.range(0, size).forEach(task);
+        } else {
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(task)).join();
+        }
+    }
+
+    private static Map<String, int[]> index(List<String> names) {
+        final Map<String, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            for (String gram : gramsOf(names.get(i))) {
+                postings.computeIfAbsent(gram, g -> new ArrayList<>()).add(i);
+            }
+        }
+        final Map<String, int[]> index = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, list) -> index.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        return index;
+    }
+
+    private static Set<String> gramsOf(String name) {
+        final String padded = '^' + name.toUpperCase(Locale.ROOT) + '$';
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * @return indexes of the output names sharing the most grams, every output name when none is shared
+     */
+    private int[] candidates(Set<String> grams, Map<String, int[]> index, int outSize) {
+        final int[] shared = new int[outSize];
+        int sharingCount = 0;
+        for (String gram : grams) {
+            for (int candidate : index.getOrDefault(gram, NO_CANDIDATES)) {
+                if (shared[candidate]++ == 0) {
+                    sharingCount++;
+                }
+            }
+        }
+        if (sharingCount == 0) {
+            return IntStream.range(0, outSize).toArray();
+        }
+        return IntStream.range(0, outSize)
+                .filter(candidate -> shared[candidate] > 0)
+                .boxed()
+                .sorted((a, b) -> shared[b] != shared[a] ? shared[b] - shared[a] : a - b)
+                .limit(maxCandidates)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Hungarian algorithm maximizing the total score of a one to one assignment, names not scored against each
+     * other having a score of 0. The side with fewer names is assigned; the scores of the row being reduced are
+     * expanded into a single dense row, so that memory stays proportional to the number of scored pairs.
+     */
+    private static void assign(int[][] scoredCandidates, double[][] candidateScores, int outSize, int[] matched,
+            double[] scores) {
+        final int inSize = scoredCandidates.length;
+        final boolean transposed = inSize > outSize;
+        final int n = transposed ? outSize : inSize;
+        final int m = transposed ? inSize : outSize;
+        final int[][] rowColumns;
+        final double[][] rowScores;
+        if (transposed) {
+            rowColumns = new int[outSize][];
+            rowScores = new double[outSize][];
+            final int[] counts = new int[outSize];
+            for (int[] candidates : scoredCandidates) {
+                for (int candidate : candidates) {
+                    counts[candidate]++;
+                }
+            }
+            for (int out = 0; out < outSize; out++) {
+                rowColumns[out] = new int[counts[out]];
+                rowScores[out] = new double[counts[out]];
+                counts[out] = 0;
+            }
+            for (int in = 0; in < inSize; in++) {
+                for (int c = 0; c < scoredCandidates[in].length; c++) {
+                    final int out = scoredCandidates[in][c];
+                    rowColumns[out][counts[out]] = in;
+                    rowScores[out][counts[out]++] = candidateScores[in][c];
+                }
+            }
+        } else {
+            rowColumns = scoredCandidates;
+            rowScores = candidateScores;
+        }
+        final double[] row = new double[m + 1];
+        int loadedRow = 0;
+        final double[] u = new double[n + 1];
+        final double[] v = new double[m + 1];
+        final int[] p = new int[m + 1];
+        final int[] way = new int[m + 1];
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            final double[] minv = new double[m + 1];
+            final boolean[] used = new boolean[m + 1];
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            do {
+                used[j0] = true;
+                final int i0 = p[j0];
+                if (i0 != loadedRow) {
+                    if (loadedRow != 0) {
+                        for (int column : rowColumns[loadedRow - 1]) {
+                            row[column + 1] = 0.0;
+                        }
+                    }
+                    for (int c = 0; c < rowColumns[i0 - 1].length; c++) {
+                        row[rowColumns[i0 - 1][c] + 1] = rowScores[i0 - 1][c];
+                    }
+                    loadedRow = i0;
+                }
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        final double current = -row[j] - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                final int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+        Arrays.fill(matched, -1);
+        Arrays.fill(scores, 0.0);
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                final int in = transposed ? j - 1 : p[j] - 1;
+                final int out = transposed ? p[j] - 1 : j - 1;
+                matched[in] = out;
+                for (int c = 0; c < scoredCandidates[in].length; c++) {
+                    if (scoredCandidates[in][c] == out) {
+                        scores[in] = candidateScores[in][c];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Matches of input names, by input name index.
+     */
+    public static final class Matches {
+
+        private final int[] matched;
+
+        private final double[] scores;
+
+        private Matches(int[] matched, double[] scores) {
+            this.matched = matched;
+            this.scores = scores;
+        }
+
+        /**
+         * @param in input name index
+         * @return matched output name index, {@code -1} when the input name is not matched
+         */
+        public int get(int in) {
+            return matched[in];
+        }
+
+        /**
+         * @param in input name index
+         * @return similarity score of the best candidate of the input name
+         */
+        public double getScore(int in) {
+            return scores[in];
+        }
+
+        public int size() {
+            return matched.length;
+        }
+    }
+}
@@ -3,14 +3,18 @@
  */
 package net.courtanet.devtools.mapper;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
-import org.jooq.lambda.tuple.Tuple;
-import org.jooq.lambda.tuple.Tuple2;
 
+import net.courtanet.config.type.FrozenMapper;
 import net.courtanet.config.type.Mapper;
 
 public class MapperUtils {
@@ -27,23 +31,37 @@ public class MapperUtils {
         return generateMapper(inType, outType, AUTO_MAPPING_THRESHOLD);
     }
 
+    /**
+     * Generate a mapper matching input and output enum constants by name similarity.
+     *
+     * @param inType  input type
+     * @param outType output type
+     * @param matcher matcher of constant names
+     * @return generated mapper
+     */
+    public static Mapper generate(Class inType, Class outType, EnumMatcher matcher) {
+        return generateMapper(inType, outType, matcher);
+    }
+
     static Mapper generateMapper(Class inType, Class outType, double threshold) {
+        return generateMapper(inType, outType, new EnumMatcher(threshold));
+    }
+
+    static Mapper generateMapper(Class inType, Class outType, EnumMatcher matcher) {
         Mapper.MapperBuilder builder = Mapper.builder(inType, outType);
         if (inType.isEnum()) {
-            for (Object inC : inType.getEnumConstants()) {
-                Mapper.Mapping mapping = builder.map(inC);
-                if (outType.isEnum()) {
-                    Tuple2<Object, Double> c = Arrays.stream(outType.getEnumConstants())
-                            .map(e -> Tuple.tuple(e, getDistance(((Enum) inC).name(), ((Enum) e).name())))
-                            .max(Comparator.comparing(t -> t.v2)).get();
-                    LOG.info(inC + " ~ " + c.v1 + " : " + c.v2);
-                    if (c.v2 > threshold) {
-                        mapping.to(c.v1);
-                    } else {
-                        mapping.to(null);
-                    }
-                } else {
-                    mapping.to(null);
+            Object[] inConstants = inType.getEnumConstants();
+            if (outType.isEnum()) {
+                Object[] outConstants = outType.getEnumConstants();
+                EnumMatcher.Matches matches = matcher.match(names(inConstants), names(outConstants));
+                for (int i = 0; i < inConstants.length; i++) {
+                    Object out = matches.get(i) < 0 ? null : outConstants[matches.get(i)];
+                    LOG.info(inConstants[i] + " ~ " + out + " : " + matches.getScore(i));
+                    builder.map(inConstants[i]).to(out);
+                }
+            } else {
+                for (Object inC : inConstants) {
+                    builder.map(inC).to(null);
                 }
             }
         } else {
@@ -52,6 +70,14 @@ public class MapperUtils {
         return builder.build();
     }
 
+    private static List<String> names(Object[] constants) {
+        List<String> names = new ArrayList<>(constants.length);
+        for (Object constant : constants) {
+            names.add(((Enum) constant).name());
+        }
+        return names;
+    }
+
     static double getDistance(String first, String second) {
         double levenshtein = 1 - ((double) StringUtils.getLevenshteinDistance(first, second) /
                 (double) Math.max(first.length(), second.length()));
@@ -116,4 +142,214 @@ public class MapperUtils {
             builder.append("\n\t\t");
         }
     }
+
+    public static String writeSwitchMapper(Mapper mapper, String methodName) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeSwitchMapper(mapper, methodName, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Write a static method equivalent to the given mapper as a switch statement, on enum constants or on strings.
+     * Static mappings are written with their current output value, or the {@link IllegalArgumentException} they
+     * throw. Mapping of values not listed in the switch is written only for enums, where every constant is listed,
+     * or when the default mapping is a constant.
+     *
+     * @param mapper     mapper to write
+     * @param methodName name of the written method
+     * @param writer     writer to stream the source to
+     * @throws IOException              when writing fails.
+     * @throws IllegalArgumentException when the mapper can not be written as a switch statement, or when an output
+     *                                  value has no literal.
+     */
+    public static void writeSwitchMapper(Mapper mapper, String methodName, Writer writer) throws IOException {
+        Class inType = mapper.getInType();
+        Class outType = mapper.getOutType();
+        if (!inType.isEnum() && !String.class.equals(inType)) {
+            throw new IllegalArgumentException("Switch statement not supported on " + inType.getName() + " values.");
+        }
+        Function defaultFunction = mapper.getDefaultMapping();
+        if (!inType.isEnum() && defaultFunction != null && !(defaultFunction instanceof Mapper.Constant)) {
+            throw new IllegalArgumentException("Default function " + defaultFunction + " can not be written.");
+        }
+        writer.write("public static " + outType.getCanonicalName() + " " + methodName + "("
+                + inType.getCanonicalName() + " in) {\n");
+        writer.write("\tif (in == null) {\n");
+        writeSwitchOutcome(mapper, null, "\t\t", writer);
+        writer.write("\t}\n");
+        writer.write("\tswitch (in) {\n");
+        Iterable keys = inType.isEnum() ? Arrays.asList(inType.getEnumConstants()) : mapper.getMappings().keySet();
+        for (Object in : keys) {
+            writer.write("\t\tcase ");
+            writer.write(inType.isEnum() ? ((Enum) in).name() : literal(String.class, in));
+            writer.write(":\n");
+            writeSwitchOutcome(mapper, in, "\t\t\t", writer);
+        }
+        writer.write("\t\tdefault:\n");
+        if (defaultFunction instanceof Mapper.Constant) {
+            writer.write("\t\t\treturn " + literal(outType, ((Mapper.Constant) defaultFunction).getValue()) + ";\n");
+        } else {
+            writer.write("\t\t\tthrow new IllegalArgumentException(in + \" value not supported\");\n");
+        }
+        writer.write("\t}\n");
+        writer.write("}\n");
+    }
+
+    private static void writeSwitchOutcome(Mapper mapper, Object in, String indent, Writer writer)
+            throws IOException {
+        Object out;
+        try {
+            out = mapper.map(in);
+        } catch (IllegalArgumentException e) {
+            String message = e.getMessage() == null ? "" : literal(String.class, e.getMessage());
+            writer.write(indent + "throw new IllegalArgumentException(" + message + ");\n");
+            return;
+        }
+        writer.write(indent + "return " + literal(mapper.getOutType(), out) + ";\n");
+    }
+
+    static final int FROZEN_CHUNK = 1000;
+
+    public static String writeFrozenHolder(Mapper mapper, String packageName, String className) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeFrozenHolder(mapper, packageName, className, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Write a holder class restoring the given mapper from its frozen form with
+     * {@link FrozenMapper#restore(Class, Class, Object[], Object[], Object[], int, Object, Object)}. Arrays are filled
+     * by methods of at most {@value #FROZEN_CHUNK} entries, to stay under the method size limit with large tables.
+     * The compiled holder class can be added to a Class Data Sharing archive.
+     *
+     * @param mapper      constant-only mapper to write
+     * @param packageName package of the written class, {@code null} or empty for the default package
+     * @param className   simple name of the written class
+     * @param writer      writer to stream the source to
+     * @throws IOException              when writing fails.
+     * @throws IllegalArgumentException when the mapper is not constant-only, see {@link FrozenMapper#isFreezable}.
+     */
+    public static void writeFrozenHolder(Mapper mapper, String packageName, String className, Writer writer)
+            throws IOException {
+        int flags = FrozenMapper.flags(mapper);
+        Class inType = mapper.getInType();
+        Class outType = mapper.getOutType();
+        List<Object> keys = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        List<Object> unsupported = new ArrayList<>();
+        for (Object entry : mapper.getMappings().entrySet()) {
+            Map.Entry mapping = (Map.Entry) entry;
+            if (mapping.getValue() instanceof Mapper.Constant) {
+                keys.add(mapping.getKey());
+                values.add(((Mapper.Constant) mapping.getValue()).getValue());
+            } else {
+                unsupported.add(mapping.getKey());
+            }
+        }
+        String in = inType.getCanonicalName();
+        String out = outType.getCanonicalName();
+        Object nullValue = mapper.getNullMapping() instanceof Mapper.Constant
+                ? ((Mapper.Constant) mapper.getNullMapping()).getValue() : null;
+        Object defaultValue = mapper.getDefaultMapping() instanceof Mapper.Constant
+                ? ((Mapper.Constant) mapper.getDefaultMapping()).getValue() : null;
+        if (packageName != null && !packageName.isEmpty()) {
+            writer.write("package " + packageName + ";\n\n");
+        }
+        writer.write("import " + FrozenMapper.class.getName() + ";\n");
+        writer.write("import " + Mapper.class.getName() + ";\n\n");
+        writer.write("public final class " + className + " {\n\n");
+        writer.write("\tpublic static final Mapper<" + in + ", " + out + "> MAPPER = FrozenMapper.restore(\n");
+        writer.write("\t\t\t" + in + ".class, " + out + ".class, keys(), values(), unsupported(), " + flags + ",\n");
+        writer.write("\t\t\t" + literal(outType, nullValue) + ", " + literal(outType, defaultValue) + ");\n\n");
+        writer.write("\tprivate " + className + "() {\n\t}\n");
+        writeFrozenArray("keys", inType, keys, writer);
+        writeFrozenArray("values", outType, values, writer);
+        writeFrozenArray("unsupported", inType, unsupported, writer);
+        writer.write("}\n");
+    }
+
+    private static void writeFrozenArray(String name, Class type, List<Object> elements, Writer writer)
+            throws IOException {
+        String arrayType = type.getCanonicalName() + "[]";
+        int chunks = (elements.size() + FROZEN_CHUNK - 1) / FROZEN_CHUNK;
+        writer.write("\n\tprivate static " + arrayType + " " + name + "() {\n");
+        writer.write("\t\t" + arrayType + " " + name + " = new " + type.getCanonicalName() + "["
+                + elements.size() + "];\n");
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            writer.write("\t\t" + name + chunk + "(" + name + ");\n");
+        }
+        writer.write("\t\treturn " + name + ";\n\t}\n");
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            writer.write("\n\tprivate static void " + name + chunk + "(" + arrayType + " " + name + ") {\n");
+            for (int i = chunk * FROZEN_CHUNK; i < Math.min(elements.size(), (chunk + 1) * FROZEN_CHUNK); i++) {
+                writer.write("\t\t" + name + "[" + i + "] = " + literal(type, elements.get(i)) + ";\n");
+            }
+            writer.write("\t}\n");
+        }
+    }
+
+    private static String literal(Class type, Object value) {
+        if (value == null) {
+            return "null";
+        } else if (type.isEnum() || value instanceof Enum) {
+            return ((Enum) value).getDeclaringClass().getCanonicalName() + "." + ((Enum) value).name();
+        } else if (value instanceof String) {
+            return "\"" + escape((String) value) + "\"";
+        } else if (value instanceof Character) {
+            return "'" + ("'".equals(value.toString()) ? "\\'" : escape(value.toString())) + "'";
+        } else if (value instanceof Long) {
+            return value + "L";
+        } else if (value instanceof Float) {
+            float f = (Float) value;
+            return Float.isNaN(f) ? "Float.NaN" : Float.isInfinite(f)
+                    ? (f > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY") : value + "f";
+        } else if (value instanceof Double) {
+            double d = (Double) value;
+            return Double.isNaN(d) ? "Double.NaN" : Double.isInfinite(d)
+                    ? (d > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY") : value + "d";
+        } else if (value instanceof Integer || value instanceof Boolean) {
+            return String.valueOf(value);
+        } else if (value instanceof Short || value instanceof Byte) {
+            return "(" + value.getClass().getSimpleName().toLowerCase() + ") " + value;
+        }
+        throw new IllegalArgumentException("Literal not supported for " + value.getClass().getName() + " values.");
+    }
+
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.toString();
+    }
 }
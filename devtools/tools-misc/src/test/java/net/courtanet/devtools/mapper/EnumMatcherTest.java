@@ -0,0 +1,126 @@
+package net.courtanet.devtools.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class EnumMatcherTest {
+
+    private static final List<String> IN = Arrays.asList("CAR_THEFT", "HOME_FIRE", "GLASS_DAMAGE", "CIVIL_LIABILITY",
+            "PET_HEALTH", "TRAVEL_ASSIST");
+
+    private static final List<String> OUT = Arrays.asList("CARTHEFT", "HOME_FIRES", "GLASSDAMAGE", "CIVIL_LIAB",
+            "PET_HEALTH_X", "TRAVEL_ASSISTANCE", "LEGAL", "WATER_DAMAGE");
+
+    @Test
+    public void should_match_best_exhaustive_score_when_pruned() throws Exception {
+        EnumMatcher.Matches pruned = new EnumMatcher(-1).withExhaustiveSize(0).withMaxCandidates(3)
+                .match(IN, OUT);
+        EnumMatcher.Matches exhaustive = new EnumMatcher(-1).withMaxCandidates(0).withPool(null).match(IN, OUT);
+
+        for (int i = 0; i < IN.size(); i++) {
+            assertThat(exhaustive.get(i)).isEqualTo(bestIndex(IN.get(i), OUT));
+            assertThat(pruned.getScore(i)).isEqualTo(exhaustive.getScore(i));
+        }
+    }
+
+    @Test
+    public void should_keep_first_best_candidate_when_scores_tie() throws Exception {
+        List<String> out = Arrays.asList("CODE_A", "CODE_A", "CODE_B");
+
+        EnumMatcher.Matches exhaustive = new EnumMatcher(-1).withPool(null).match(Arrays.asList("CODE_A"), out);
+        EnumMatcher.Matches pruned = new EnumMatcher(-1).withExhaustiveSize(0).withMaxCandidates(1)
+                .match(Arrays.asList("CODE_A"), out);
+
+        assertThat(exhaustive.get(0)).isEqualTo(0);
+        assertThat(pruned.get(0)).isEqualTo(0);
+    }
+
+    @Test
+    public void should_maximize_total_score_when_optimal_with_more_outputs() throws Exception {
+        assertOptimal(IN.subList(0, 4), OUT, new EnumMatcher(-1).withOptimalAssignment(true));
+        assertOptimal(IN.subList(0, 4), OUT, new EnumMatcher(-1).withOptimalAssignment(true).withPool(null));
+    }
+
+    @Test
+    public void should_maximize_total_score_when_optimal_with_more_inputs() throws Exception {
+        assertOptimal(OUT, IN.subList(0, 5), new EnumMatcher(-1).withOptimalAssignment(true));
+    }
+
+    @Test
+    public void should_match_one_to_one_when_optimal_and_names_tie() throws Exception {
+        List<String> in = Arrays.asList("CODE_A", "CODE_A", "CODE_B");
+        List<String> out = Arrays.asList("CODE_A", "CODE_B");
+
+        EnumMatcher.Matches greedy = new EnumMatcher(0.4).match(in, out);
+        EnumMatcher.Matches optimal = new EnumMatcher(0.4).withOptimalAssignment(true).match(in, out);
+
+        assertThat(greedy.get(0)).isEqualTo(0);
+        assertThat(greedy.get(1)).isEqualTo(0);
+        assertThat(optimal.get(2)).isEqualTo(1);
+        assertThat(Arrays.asList(optimal.get(0), optimal.get(1))).containsExactlyInAnyOrder(0, -1);
+    }
+
+    @Test
+    public void should_maximize_total_score_over_candidates_when_optimal_and_pruned() throws Exception {
+        EnumMatcher matcher = new EnumMatcher(-1).withOptimalAssignment(true).withExhaustiveSize(0)
+                .withMaxCandidates(2).withPool(ForkJoinPool.commonPool());
+
+        EnumMatcher.Matches matches = matcher.match(IN, OUT);
+
+        Set<Integer> assigned = new HashSet<>();
+        for (int i = 0; i < IN.size(); i++) {
+            assertThat(matches.get(i)).isEqualTo(bestIndex(IN.get(i), OUT));
+            assertThat(assigned.add(matches.get(i))).isEqualTo(true);
+        }
+    }
+
+    private static int bestIndex(String in, List<String> out) {
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int j = 0; j < out.size(); j++) {
+            double score = MapperUtils.getDistance(in, out.get(j));
+            if (score > bestScore) {
+                best = j;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static void assertOptimal(List<String> in, List<String> out, EnumMatcher matcher) {
+        EnumMatcher.Matches matches = matcher.match(in, out);
+
+        double total = 0;
+        Set<Integer> assigned = new HashSet<>();
+        for (int i = 0; i < in.size(); i++) {
+            if (matches.get(i) >= 0) {
+                assertThat(assigned.add(matches.get(i))).isEqualTo(true);
+                total += MapperUtils.getDistance(in.get(i), out.get(matches.get(i)));
+            }
+        }
+        assertThat(Math.abs(total - bestTotal(in, out, 0, new boolean[out.size()]))).isLessThan(1e-9);
+    }
+
+    /**
+     * Best total score of one to one assignments, by enumerating them.
+     */
+    private static double bestTotal(List<String> in, List<String> out, int i, boolean[] used) {
+        if (i == in.size()) {
+            return 0;
+        }
+        double best = bestTotal(in, out, i + 1, used);
+        for (int j = 0; j < out.size(); j++) {
+            if (!used[j]) {
+                used[j] = true;
+                best = Math.max(best, MapperUtils.getDistance(in.get(i), out.get(j))
+                        + bestTotal(in, out, i + 1, used));
+                used[j] = false;
+            }
+        }
+        return best;
+    }
+}
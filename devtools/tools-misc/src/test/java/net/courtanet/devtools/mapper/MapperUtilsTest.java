@@ -0,0 +1,167 @@
+package net.courtanet.devtools.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Test;
+
+import net.courtanet.config.type.Mapper;
+
+public class MapperUtilsTest {
+
+    public enum Color {
+        RED, GREEN, BLUE
+    }
+
+    @Test
+    public void should_write_every_enum_constant_when_writing_switch_mapper() throws Exception {
+        Mapper<Color, Integer> mapper = Mapper.builder(Color.class, Integer.class)
+                .map(Color.RED).to(1)
+                .map(Color.GREEN).withIllegalArgumentException()
+                .mapNull().to(0)
+                .build();
+
+        String source = MapperUtils.writeSwitchMapper(mapper, "code");
+
+        assertThat(source).startsWith("public static java.lang.Integer code("
+                + Color.class.getCanonicalName() + " in) {\n");
+        assertThat(source).contains("\tif (in == null) {\n\t\treturn 0;\n\t}\n");
+        assertThat(source).contains("\t\tcase RED:\n\t\t\treturn 1;\n");
+        assertThat(source).contains("\t\tcase GREEN:\n\t\t\tthrow new IllegalArgumentException("
+                + "\"Unsupported GREEN value.\");\n");
+        assertThat(source).contains("\t\tcase BLUE:\n\t\t\tthrow new IllegalArgumentException("
+                + "\"BLUE value not supported\");\n");
+        assertThat(source).contains("\t\tdefault:\n\t\t\tthrow new IllegalArgumentException(in + "
+                + "\" value not supported\");\n");
+    }
+
+    @Test
+    public void should_write_string_cases_and_constant_default_when_writing_switch_mapper() throws Exception {
+        Mapper<String, Color> mapper = Mapper.builder(String.class, Color.class)
+                .map("r\"ed").to(Color.RED)
+                .mapNull().withIllegalArgumentException()
+                .withDefault(Color.BLUE)
+                .build();
+
+        String source = MapperUtils.writeSwitchMapper(mapper, "color");
+
+        assertThat(source).contains("\tif (in == null) {\n\t\tthrow new IllegalArgumentException("
+                + "\"Unsupported null value.\");\n\t}\n");
+        assertThat(source).contains("\t\tcase \"r\\\"ed\":\n\t\t\treturn " + Color.class.getCanonicalName()
+                + ".RED;\n");
+        assertThat(source).contains("\t\tdefault:\n\t\t\treturn " + Color.class.getCanonicalName() + ".BLUE;\n");
+    }
+
+    @Test
+    public void should_write_exception_without_message_when_unsupported_message_is_null() throws Exception {
+        Mapper<Color, Integer> mapper = Mapper.builder(Color.class, Integer.class)
+                .map(Color.RED).withIllegalArgumentException(in -> null)
+                .withDefault(1)
+                .mapNull().to(0)
+                .build();
+
+        String source = MapperUtils.writeSwitchMapper(mapper, "code");
+
+        assertThat(source).contains("\t\tcase RED:\n\t\t\tthrow new IllegalArgumentException();\n");
+    }
+
+    @Test
+    public void should_write_constants_when_floating_point_value_is_not_finite() throws Exception {
+        Mapper<Color, Double> doubles = Mapper.builder(Color.class, Double.class)
+                .map(Color.RED).to(Double.NaN)
+                .map(Color.GREEN).to(Double.NEGATIVE_INFINITY)
+                .map(Color.BLUE).to(1.5)
+                .mapNull().to(Double.POSITIVE_INFINITY)
+                .build();
+        Mapper<Color, Float> floats = Mapper.builder(Color.class, Float.class)
+                .map(Color.RED).to(Float.NaN)
+                .map(Color.GREEN).to(Float.POSITIVE_INFINITY)
+                .map(Color.BLUE).to(Float.NEGATIVE_INFINITY)
+                .mapNull().to(2.5f)
+                .build();
+
+        String doubleSource = MapperUtils.writeSwitchMapper(doubles, "toDouble");
+        String floatSource = MapperUtils.writeSwitchMapper(floats, "toFloat");
+
+        assertThat(doubleSource).contains("case RED:\n\t\t\treturn Double.NaN;\n",
+                "case GREEN:\n\t\t\treturn Double.NEGATIVE_INFINITY;\n", "case BLUE:\n\t\t\treturn 1.5d;\n",
+                "\t\treturn Double.POSITIVE_INFINITY;\n");
+        assertThat(floatSource).contains("case RED:\n\t\t\treturn Float.NaN;\n",
+                "case GREEN:\n\t\t\treturn Float.POSITIVE_INFINITY;\n",
+                "case BLUE:\n\t\t\treturn Float.NEGATIVE_INFINITY;\n", "\t\treturn 2.5f;\n");
+    }
+
+    @Test
+    public void should_throw_illegalargumentexception_when_switch_mapper_can_not_be_written() throws Exception {
+        Mapper<Color, BigDecimal> decimals = Mapper.builder(Color.class, BigDecimal.class)
+                .withDefault(BigDecimal.ONE)
+                .build();
+        Mapper<Integer, String> integers = Mapper.builder(Integer.class, String.class)
+                .map(1).to("one")
+                .build();
+        Mapper<String, String> functions = Mapper.builder(String.class, String.class)
+                .withDefault(String::trim)
+                .mapNull().to(null)
+                .build();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MapperUtils.writeSwitchMapper(decimals, "decimal"))
+                .withMessageContaining("Literal not supported");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MapperUtils.writeSwitchMapper(integers, "integer"))
+                .withMessageContaining("Switch statement not supported");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MapperUtils.writeSwitchMapper(functions, "function"))
+                .withMessageContaining("can not be written");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_restore_equivalent_mapper_when_compiling_frozen_holder() throws Exception {
+        int size = MapperUtils.FROZEN_CHUNK * 2 + 500;
+        Mapper.MapperBuilder<String, Color> builder = Mapper.builder(String.class, Color.class);
+        for (int i = 0; i < size; i++) {
+            builder.map("CODE_" + i).to(Color.values()[i % 3]);
+        }
+        Mapper<String, Color> mapper = builder
+                .map("c\\\"x").withIllegalArgumentException()
+                .mapNull().to(Color.GREEN)
+                .withDefault(Color.BLUE)
+                .build();
+
+        String source = MapperUtils.writeFrozenHolder(mapper, "net.courtanet.devtools.mapper.frozen", "ColorHolder");
+
+        assertThat(source).contains("keys2(keys);").doesNotContain("keys3(").contains("unsupported0(unsupported);");
+        Path dir = Files.createTempDirectory("frozen-holder");
+        Path file = dir.resolve("ColorHolder.java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int status = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-d", dir.toString(), file.toString());
+        assertThat(status).isEqualTo(0);
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() },
+                MapperUtilsTest.class.getClassLoader())) {
+            Mapper<String, Color> restored = (Mapper<String, Color>) loader
+                    .loadClass("net.courtanet.devtools.mapper.frozen.ColorHolder").getField("MAPPER").get(null);
+
+            assertThat(restored.getMappings()).hasSize(size + 1);
+            for (int i = 0; i < size; i++) {
+                assertThat(restored.map("CODE_" + i)).isEqualTo(mapper.map("CODE_" + i));
+            }
+            assertThat(restored.map(null)).isEqualTo(Color.GREEN);
+            assertThat(restored.map("unknown")).isEqualTo(Color.BLUE);
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> restored.map("c\\\"x"))
+                    .withMessage("Unsupported c\\\"x value.");
+        }
+    }
+}